@@ -1,223 +1,287 @@
 import java.util.*;
 
-public class AGScheduler implements Scheduler {
-
-    private List<Process> readyQueue = new ArrayList<>();
-    private List<String> executionOrder = new ArrayList<>();
-    private List<Process> processesRef;
+public class AGScheduler extends AbstractScheduler {
+
+    private static final long NOT_QUEUED = Long.MIN_VALUE;
+
+    // FIFO order of ready processes (ids in table). Moving a process to the
+    // front leaves its old entry behind; entries whose position no longer matches
+    // queuePosition are stale and skipped when they reach the front.
+    private IntDeque readyQueue;
+    private long[] queuePosition;
+    // Same membership as readyQueue, ordered by (priority, queue position) / (remaining, queue position)
+    private IndexedMinHeap byPriority;
+    private IndexedMinHeap byRemaining;
     private int time = 0;
+    private boolean done;
+
+    public AGScheduler() {
+        super(new ExecutionTrace(false)); // every dispatch is listed
+    }
+
+    // AG has no context-switch cost; the argument only keeps the factory in Main2 uniform
+    public AGScheduler(int contextSwitch) {
+        this();
+    }
 
     @Override
     public void schedule(List<Process> processes) {
 
-        this.processesRef = processes;
+        // results are listed in arrival order
         processes.sort(Comparator.comparingInt(Process::getArrivalTime));
 
-        int finished = 0;
-        int index = 0;
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
 
-        // initial quantum history
-        for (Process p : processes) {
-            p.getQuantumHistory().add(p.getQuantum());
-        }
+    @Override
+    protected void reset() {
+        int capacity = Math.max(16, table.size());
+        readyQueue = new IntDeque();
+        queuePosition = new long[capacity];
+        Arrays.fill(queuePosition, NOT_QUEUED);
+        byPriority = new IndexedMinHeap(capacity);
+        byRemaining = new IndexedMinHeap(capacity);
+        time = 0;
+        done = false;
+    }
 
-        while (finished < processes.size()) {
+    @Override
+    protected void run() {
+        if (done) return;
 
-            while (index < processes.size()
-                    && processes.get(index).getArrivalTime() <= time) {
-                readyQueue.add(processes.get(index));
-                index++;
-            }
+        while (true) {
+
+            if (!feed.isKnown(time)) return;
+            updateIndex();
 
-            if (readyQueue.isEmpty()) {
-                time++;
+            if (byPriority.isEmpty()) {
+                if (!feed.hasNext()) {
+                    if (feed.isClosed()) break;
+                    return;
+                }
+                // CPU idle -> jump straight to the next arrival and record the gap
+                int nextArrival = feed.peekArrival();
+                if (!feed.isKnown(nextArrival)) return;
+                listener.onIdle(time, nextArrival);
+                time = nextArrival;
                 continue;
             }
 
-            Process current = readyQueue.remove(0);
-            executionOrder.add(current.getName());
+            // The whole quantum must be decided before it starts (q1 + q2 can exceed a tiny q)
+            int head = peekFirst();
+            int reach = Math.max(table.getQuantum(head), 2 * (int) Math.ceil(0.25 * table.getQuantum(head)));
+            if (!feed.isKnown((long) time + Math.min(reach, table.getRemainingTime(head)))) return;
+
+            int current = pollFirst();
+            listener.onDispatch(current, time);
 
-            int q = current.getQuantum();
+            int q = table.getQuantum(current);
             int q1 = (int) Math.ceil(0.25 * q);
             int q2 = (int) Math.ceil(0.25 * q);
 
+            // Each phase runs in one step: the preemption decisions are taken at the start of
+            // a phase and arrivals during it are only appended to the queue, so admitting them
+            // once the phase ends gives the same queue as admitting them tick by tick.
             int executed = 0;
-            boolean preempted = false;
 
             // ===== Phase 1 (FCFS) =====
-            while (executed < q1 && current.getRemainingTime() > 0) {
-                tick(current);
-                executed++;
-                index = updateIndex(processes, index);
-            }
+            executed += run(current, q1 - executed);
+            updateIndex();
 
-            if (current.getRemainingTime() == 0) {
-                finish(current);
-                finished++;
+            if (table.getRemainingTime(current) == 0) {
+                complete(current);
                 continue;
             }
 
             // ===== Phase 2 (Priority) =====
-            Process bestPriority = getBestPriority();
-
-            while (executed < q1 + q2 && current.getRemainingTime() > 0) {
+            int bestPriority = byPriority.peek();
 
-                if (bestPriority != null &&
-                        bestPriority.getPriority() < current.getPriority()) {
-
-                    updateQuantum(current, executed, 2);
-                    readyQueue.add(current);
-                    readyQueue.remove(bestPriority);
-                    readyQueue.add(0, bestPriority);
-                    preempted = true;
-                    break;
-                }
+            if (executed < q1 + q2 && bestPriority != -1 &&
+                    table.getPriority(bestPriority) < table.getPriority(current)) {
 
-                tick(current);
-                executed++;
-                index = updateIndex(processes, index);
+                updateQuantum(current, executed, 2);
+                enqueue(current);
+                listener.onPreempt(current, time);
+                moveToFront(bestPriority);
+                continue;
             }
 
-            if (preempted) continue;
+            executed += run(current, q1 + q2 - executed);
+            updateIndex();
 
-            if (current.getRemainingTime() == 0) {
-                finish(current);
-                finished++;
+            if (table.getRemainingTime(current) == 0) {
+                complete(current);
                 continue;
             }
 
             // ===== Phase 3 (SJF) =====
-            Process shortest = getShortestJob();
-
-            while (executed < q && current.getRemainingTime() > 0) {
+            int shortest = byRemaining.peek();
 
-                if (shortest != null &&
-                        shortest.getRemainingTime() < current.getRemainingTime()) {
+            if (executed < q && shortest != -1 &&
+                    table.getRemainingTime(shortest) < table.getRemainingTime(current)) {
 
-                    updateQuantum(current, executed, 3);
-                    readyQueue.add(current);
-                    readyQueue.remove(shortest);
-                    readyQueue.add(0, shortest);
-                    preempted = true;
-                    break;
-                }
-
-                tick(current);
-                executed++;
-                index = updateIndex(processes, index);
+                updateQuantum(current, executed, 3);
+                enqueue(current);
+                listener.onPreempt(current, time);
+                moveToFront(shortest);
+                continue;
             }
 
-            if (preempted) continue;
+            executed += run(current, q - executed);
+            updateIndex();
 
-            if (current.getRemainingTime() == 0) {
-                finish(current);
-                finished++;
+            if (table.getRemainingTime(current) == 0) {
+                complete(current);
             } else {
                 updateQuantum(current, executed, 1);
-                readyQueue.add(current);
+                enqueue(current);
+                listener.onPreempt(current, time);
             }
         }
 
-        // WT & TAT
-        for (Process p : processes) {
-            int tat = p.getCompletionTime() - p.getArrivalTime();
-            p.setTurnaroundTime(tat);
-            p.setWaitingTime(tat - p.getBurstTime());
-        }
+        // WT & TAT follow from the completion times in the table
+        done = true;
+        listener.onFinish();
     }
 
     // ================= Helpers =================
 
-    private void tick(Process p) {
-        if (p.getRemainingTime() == 1) {
-            p.setCompletionTime(time + 1);
+    // Runs a process for up to "budget" units in one jump and returns how many units it ran
+    private int run(int id, int budget) {
+        int units = Math.max(0, Math.min(budget, table.getRemainingTime(id)));
+        table.setRemainingTime(id, table.getRemainingTime(id) - units);
+        time += units;
+        if (units > 0 && table.getRemainingTime(id) == 0) {
+            table.setCompletionTime(id, time);
         }
-        p.setRemainingTime(p.getRemainingTime() - 1);
-        time++;
+        return units;
     }
 
-    private int updateIndex(List<Process> processes, int index) {
-        while (index < processes.size()
-                && processes.get(index).getArrivalTime() <= time) {
-            readyQueue.add(processes.get(index));
-            index++;
+    // Admits every arrival up to now, starting its quantum history
+    private void updateIndex() {
+        while (feed.hasNext() && feed.peekArrival() <= time) {
+            int id = feed.poll();
+            if (id >= queuePosition.length) grow(id + 1);
+            table.getQuantumHistory(id).add(table.getQuantum(id));
+            enqueue(id);
         }
-        return index;
     }
 
-    private Process getBestPriority() {
-        Process best = null;
-        for (Process p : readyQueue) {
-            if (best == null || p.getPriority() < best.getPriority())
-                best = p;
+    private void grow(int capacity) {
+        int old = queuePosition.length;
+        capacity = Math.max(capacity, old * 2);
+        queuePosition = Arrays.copyOf(queuePosition, capacity);
+        Arrays.fill(queuePosition, old, capacity, NOT_QUEUED);
+        byPriority.grow(capacity);
+        byRemaining.grow(capacity);
+    }
+
+    // ---- ready queue: FIFO deque + two heaps sharing one membership ----
+
+    private void enqueue(int id) {
+        track(id, readyQueue.pushBack(id));
+    }
+
+    private void moveToFront(int id) {
+        byPriority.remove(id);
+        byRemaining.remove(id);
+        track(id, readyQueue.pushFront(id));
+    }
+
+    private void track(int id, long position) {
+        queuePosition[id] = position;
+        byPriority.insert(id, table.getPriority(id), position);
+        byRemaining.insert(id, table.getRemainingTime(id), position);
+    }
+
+    // Caller checks that the queue is not empty; drops stale entries up to the live first one
+    private int peekFirst() {
+        while (queuePosition[readyQueue.peekFirst()] != readyQueue.firstPosition()) {
+            readyQueue.pollFirst();
         }
-        return best;
+        return readyQueue.peekFirst();
     }
 
-    private Process getShortestJob() {
-        Process best = null;
-        for (Process p : readyQueue) {
-            if (best == null || p.getRemainingTime() < best.getRemainingTime())
-                best = p;
+    // Caller checks that the queue is not empty; stale deque entries are dropped here
+    private int pollFirst() {
+        while (true) {
+            long position = readyQueue.firstPosition();
+            int id = readyQueue.pollFirst();
+            if (queuePosition[id] == position) {
+                queuePosition[id] = NOT_QUEUED;
+                byPriority.remove(id);
+                byRemaining.remove(id);
+                return id;
+            }
         }
-        return best;
     }
 
-    private void updateQuantum(Process p, int executed, int scenario) {
-        int remaining = p.getQuantum() - executed;
+    private void updateQuantum(int id, int executed, int scenario) {
+        int quantum = table.getQuantum(id);
+        int remaining = quantum - executed;
         int newQ;
 
         switch (scenario) {
-            case 1 -> newQ = p.getQuantum() + 2;
-            case 2 -> newQ = p.getQuantum() + (int) Math.ceil(remaining / 2.0);
-            case 3 -> newQ = p.getQuantum() + remaining;
+            case 1 -> newQ = quantum + 2;
+            case 2 -> newQ = quantum + (int) Math.ceil(remaining / 2.0);
+            case 3 -> newQ = quantum + remaining;
             case 4 -> newQ = 0;
-            default -> newQ = p.getQuantum();
+            default -> newQ = quantum;
         }
 
-        p.setQuantum(newQ);
-        p.getQuantumHistory().add(newQ);
+        table.setQuantum(id, newQ);
+        table.getQuantumHistory(id).add(newQ);
     }
 
-    private void finish(Process p) {
-        p.setQuantum(0);
-        p.getQuantumHistory().add(0);
+    private void complete(int id) {
+        listener.onComplete(id, time);
+        table.setQuantum(id, 0);
+        table.setFinished(id, true);
+        table.getQuantumHistory(id).add(0);
     }
 
     // ================= Output =================
 
     @Override
     public void printExecutionOrder() {
-        System.out.println(String.join(" -> ", executionOrder));
+        TraceReader records = listener.reader();
+        if (records == null) {
+            System.out.println("not recorded (" + listener + ")");
+            return;
+        }
+        records.render(table, " -> ", true, System.out);
+        System.out.println();
     }
 
     @Override
     public void printWaitingTime() {
-        for (Process p : processesRef)
-            System.out.println(p.getName() + " Waiting Time = " + p.getWaitingTime());
+        for (int id : table.arrivalOrder())
+            System.out.println(table.getName(id) + " Waiting Time = " + table.getWaitingTime(id));
     }
 
     @Override
     public void printTurnaroundTime() {
-        for (Process p : processesRef)
-            System.out.println(p.getName() + " Turnaround Time = " + p.getTurnaroundTime());
+        for (int id : table.arrivalOrder())
+            System.out.println(table.getName(id) + " Turnaround Time = " + table.getTurnaroundTime(id));
     }
 
     @Override
     public double getAverageWaitingTime() {
-        return processesRef.stream().mapToInt(Process::getWaitingTime).average().orElse(0);
+        return table.getAverageWaitingTime();
     }
 
     @Override
     public double getAverageTurnaroundTime() {
-        return processesRef.stream().mapToInt(Process::getTurnaroundTime).average().orElse(0);
+        return table.getAverageTurnaroundTime();
     }
 
     public void printQuantumHistory() {
     System.out.println("\nQuantum History:");
-    for (Process p : processesRef) {
+    for (int id : table.arrivalOrder()) {
         System.out.println(
-            p.getName() + " = " + p.getQuantumHistory()
+            table.getName(id) + " = " + table.getQuantumHistory(id)
         );
     }
 }
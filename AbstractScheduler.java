@@ -0,0 +1,68 @@
+/**
+ * What the single-CPU engines share to run either offline (a complete
+ * ProcessTable) or online (submissions taken in by advanceTo and finish).
+ * Both go through an ArrivalFeed. run() goes as far as the known arrivals
+ * allow and keeps its state in the engine's fields, so the next call picks up
+ * where the last one stopped.
+ */
+public abstract class AbstractScheduler implements Scheduler, OnlineScheduler {
+
+    protected ExecutionListener listener;
+    protected ProcessTable table;
+    protected ArrivalFeed feed;
+    private final MpscQueue<Process> submissions = new MpscQueue<>();
+
+    protected AbstractScheduler(ExecutionListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void setExecutionListener(ExecutionListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void schedule(ProcessTable table) {
+        start(new ArrivalFeed(table));
+        run();
+    }
+
+    @Override
+    public void submit(Process process) {
+        submissions.offer(process);
+    }
+
+    @Override
+    public void advanceTo(int time) {
+        online().advanceTo(time);
+        run();
+    }
+
+    @Override
+    public void finish() {
+        online().close();
+        run();
+    }
+
+    @Override
+    public ProcessTable getTable() {
+        return table;
+    }
+
+    private ArrivalFeed online() {
+        if (feed == null) start(new ArrivalFeed(submissions));
+        return feed;
+    }
+
+    private void start(ArrivalFeed feed) {
+        this.feed = feed;
+        this.table = feed.table();
+        reset();
+    }
+
+    // Fresh run state for table, before the first run() of a run
+    protected abstract void reset();
+
+    // Goes as far as the known arrivals allow; the state stays in the fields for the next call
+    protected abstract void run();
+}
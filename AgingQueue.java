@@ -0,0 +1,43 @@
+/**
+ * The waiting processes of a policy with aging, keyed by the time of their
+ * next aging step. Every agingInterval of waiting lowers the priority number
+ * by 1, down to 1; ageUpTo applies all the steps due by a time in closed form,
+ * however many intervals it covers. This is the aging of PriorityScheduler,
+ * and MultiCoreScheduler and PolicyExecutor use it too, so the three cannot drift.
+ *
+ * Callers insert a process (key: when its next step falls due) when it starts
+ * waiting and remove it when it leaves the queue.
+ */
+public class AgingQueue extends IndexedMinHeap {
+
+    /** Where the priorities live; set also moves the process in its ready queue. */
+    public interface Priorities {
+        int get(int id);
+
+        void set(int id, int priority);
+    }
+
+    private final long agingInterval;
+
+    public AgingQueue(int capacity, long agingInterval) {
+        super(capacity);
+        this.agingInterval = agingInterval;
+    }
+
+    /** Applies every aging step due by time; a process that reaches priority 1 leaves the queue. */
+    public void ageUpTo(long time, Priorities priorities) {
+        while (!isEmpty() && peekKey() <= time) {
+            int id = peek();
+            long stepTime = peekKey();
+            long steps = (time - stepTime) / agingInterval + 1;
+
+            int priority = (int) Math.max(1, priorities.get(id) - steps);
+            priorities.set(id, priority);
+            if (priority != 1) {
+                changeKey(id, stepTime + steps * agingInterval);
+            } else {
+                remove(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,147 @@
+import java.util.*;
+
+/**
+ * The processes an engine has not admitted yet, in (arrival, id) order, and
+ * how far ahead arrivals are known.
+ *
+ * Offline, the whole table is known up front and the feed is closed from the
+ * start. Online, submissions wait in an MpscQueue until the scheduling thread
+ * calls advanceTo: they are then appended to the table, sorted among
+ * themselves and merged into what is still pending, so nothing already
+ * admitted is ever sorted again. Every arrival before the watermark is known
+ * from then on.
+ */
+public class ArrivalFeed {
+
+    private final ProcessTable table;
+    private final MpscQueue<Process> submissions; // null offline
+    private int[] pending; // ids by (arrival, id); [next, end) are not admitted yet
+    private int[] arrivals; // arrival time of pending[i], for the binary search in pollUpTo
+    private int next;
+    private int end;
+    private int watermark = Integer.MIN_VALUE; // every arrival before it is known
+    private boolean closed;
+
+    /** Offline: everything in the table, nothing more to come. */
+    public ArrivalFeed(ProcessTable table) {
+        this.table = table;
+        this.submissions = null;
+        this.pending = table.arrivalOrder(); // read only, may be shared with the workload
+        this.end = pending.length;
+        this.arrivals = new int[end];
+        for (int i = 0; i < end; i++) arrivals[i] = table.getArrivalTime(pending[i]);
+        this.closed = true;
+    }
+
+    /** Online: an empty table filled from the given submissions. */
+    public ArrivalFeed(MpscQueue<Process> submissions) {
+        this.table = new ProcessTable();
+        this.submissions = submissions;
+        this.pending = new int[0];
+        this.arrivals = new int[0];
+    }
+
+    public ProcessTable table() {
+        return table;
+    }
+
+    /** Takes in the submissions so far; every arrival before time is known afterwards. */
+    public void advanceTo(int time) {
+        drain();
+        watermark = Math.max(watermark, time);
+    }
+
+    /** Takes in the submissions so far; nothing more will arrive. */
+    public void close() {
+        drain();
+        closed = true;
+    }
+
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public boolean hasNext() {
+        return next < end;
+    }
+
+    /** Arrival of the next pending process; only valid when hasNext(). */
+    public int peekArrival() {
+        return arrivals[next];
+    }
+
+    /** Takes the next pending process; only valid when hasNext(). */
+    public int poll() {
+        return pending[next++];
+    }
+
+    /**
+     * Appends every pending process arriving at or before time to out, in order,
+     * finding the last one by binary search; returns how many were taken.
+     */
+    public int pollUpTo(int time, IntDeque out) {
+        int lo = next;
+        int hi = end;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (arrivals[mid] <= time) lo = mid + 1;
+            else hi = mid;
+        }
+        for (int i = next; i < lo; i++) {
+            out.pushBack(pending[i]);
+        }
+        int taken = lo - next;
+        next = lo;
+        return taken;
+    }
+
+    /** True if every process arriving at or before time is known. */
+    public boolean isKnown(long time) {
+        return closed || time < watermark;
+    }
+
+    private void drain() {
+        if (closed) throw new IllegalStateException("this run takes no more submissions");
+        int first = table.size();
+        for (Process p; (p = submissions.poll()) != null; ) {
+            // decisions before the watermark are final, so a late arrival counts from there
+            table.add(p.getName(), Math.max(watermark, p.getArrivalTime()), p.getBurstTime(),
+                    p.getPriority(), p.getQuantum());
+        }
+        int added = table.size() - first;
+        if (added == 0) return;
+
+        long[] keys = new long[added];
+        for (int i = 0; i < added; i++) {
+            keys[i] = ((long) table.getArrivalTime(first + i) << 32) | (first + i);
+        }
+        Arrays.sort(keys);
+
+        // merge with what is still pending; older ids go first on equal arrivals
+        int[] merged = new int[end - next + added];
+        int[] mergedArrivals = new int[merged.length];
+        int out = 0;
+        int k = 0;
+        while (next < end && k < added) {
+            if (arrivals[next] <= (int) (keys[k] >> 32)) {
+                mergedArrivals[out] = arrivals[next];
+                merged[out++] = pending[next++];
+            } else {
+                mergedArrivals[out] = (int) (keys[k] >> 32);
+                merged[out++] = (int) keys[k++];
+            }
+        }
+        while (next < end) {
+            mergedArrivals[out] = arrivals[next];
+            merged[out++] = pending[next++];
+        }
+        while (k < added) {
+            mergedArrivals[out] = (int) (keys[k] >> 32);
+            merged[out++] = (int) keys[k++];
+        }
+        pending = merged;
+        arrivals = mergedArrivals;
+        next = 0;
+        end = out;
+    }
+}
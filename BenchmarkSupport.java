@@ -0,0 +1,89 @@
+import java.util.*;
+import java.util.function.LongSupplier;
+
+/**
+ * Synthetic workloads and engine set-up for the JMH benchmarks (benchmarks/).
+ * Those live in a named package and cannot see default-package classes, so
+ * they get everything they need through prepare() and only call the returned
+ * supplier inside the measured method.
+ */
+public class BenchmarkSupport {
+
+    // HEAVY_TAILED bursts are Pareto(alpha) scaled to a minimum of 1, capped so one process can't dominate
+    private static final double PARETO_ALPHA = 1.5;
+    private static final int MAX_BURST = 1000;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Builds a seeded workload and returns one scheduler run on it per call;
+     * each call gets a fresh ProcessTable and engine and returns the makespan.
+     *
+     * @param engine    SJF, RR, PRIORITY, AG or PREEMPTIVE
+     * @param burst     UNIFORM (1..20) or HEAVY_TAILED
+     * @param arrivals  DENSE (all within n/10 ticks) or SPARSE (spread over 20n ticks)
+     * @param quantum   RR quantum and every process's starting AG quantum
+     */
+    public static LongSupplier prepare(String engine, int processes, String burst, String arrivals,
+                                       int quantum, long seed) {
+        Workload workload = generate(processes, burst, arrivals, quantum, seed);
+        switch (engine) {
+            case "SJF":
+                return () -> run(new SJFScheduler(1), workload);
+            case "RR":
+                return () -> run(new RRScheduler(1, quantum), workload);
+            case "PRIORITY":
+                return () -> run(new PriorityScheduler(1, 5), workload);
+            case "AG":
+                return () -> run(new AGScheduler(), workload);
+            case "PREEMPTIVE":
+                return () -> run(new PriorityPreemptive(), workload);
+            default:
+                throw new IllegalArgumentException("unknown engine: " + engine);
+        }
+    }
+
+    public static Workload generate(int processes, String burst, String arrivals, int quantum, long seed) {
+        Random random = new Random(seed);
+        int span;
+        switch (arrivals) {
+            case "DENSE":
+                span = Math.max(1, processes / 10);
+                break;
+            case "SPARSE":
+                span = Math.max(1, processes * 20);
+                break;
+            default:
+                throw new IllegalArgumentException("unknown arrival density: " + arrivals);
+        }
+        boolean heavyTailed;
+        switch (burst) {
+            case "UNIFORM":
+                heavyTailed = false;
+                break;
+            case "HEAVY_TAILED":
+                heavyTailed = true;
+                break;
+            default:
+                throw new IllegalArgumentException("unknown burst distribution: " + burst);
+        }
+
+        ProcessTable table = new ProcessTable(processes);
+        for (int i = 0; i < processes; i++) {
+            int burstTime = heavyTailed
+                    ? (int) Math.min(MAX_BURST, Math.pow(1 - random.nextDouble(), -1 / PARETO_ALPHA))
+                    : 1 + random.nextInt(20);
+            table.add("P" + i, random.nextInt(span), burstTime, 1 + random.nextInt(10), quantum);
+        }
+        return table.getWorkload();
+    }
+
+    private static long run(Scheduler scheduler, Workload workload) {
+        ProcessTable table = new ProcessTable(workload);
+        scheduler.schedule(table);
+        int end = 0;
+        for (int id = 0; id < table.size(); id++) end = Math.max(end, table.getCompletionTime(id));
+        return end;
+    }
+}
@@ -0,0 +1,201 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Memory-mapped reader for the binary workload format written by
+ * BinaryWorkloadWriter. Opening a file maps it and checks the header and the
+ * string table offsets against the file length; records are read straight
+ * from the mapping, and names are decoded only when asked for, so nothing is
+ * allocated per process.
+ *
+ * Layout (little-endian):
+ * <pre>
+ * header  (32 bytes) magic "WKLD", version, contextSwitch, rrQuantum, agingInterval,
+ *                    processCount, nameCount, reserved
+ * records (20 bytes each) arrival, burst, priority, quantum, nameId
+ * names   int offsets[nameCount + 1] into the bytes that follow, then the UTF-8 bytes
+ * </pre>
+ */
+public class BinaryWorkload {
+
+    static final int MAGIC = 0x444C4B57; // "WKLD" read as a little-endian int
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int RECORD_BYTES = 20;
+
+    private final int contextSwitch;
+    private final int rrQuantum;
+    private final int agingInterval;
+    private final int size;
+    private final int nameCount;
+    private final ByteBuffer records;
+    private final ByteBuffer names;
+    private final int nameBytesStart; // position of the first name byte in names
+
+    private BinaryWorkload(ByteBuffer header, ByteBuffer records, ByteBuffer names) {
+        this.contextSwitch = header.getInt(8);
+        this.rrQuantum = header.getInt(12);
+        this.agingInterval = header.getInt(16);
+        this.size = header.getInt(20);
+        this.nameCount = header.getInt(24);
+        this.records = records;
+        this.names = names;
+        this.nameBytesStart = 4 * (nameCount + 1);
+    }
+
+    public static BinaryWorkload open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < HEADER_BYTES) throw new IOException(file + ": not a binary workload");
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt(0) != MAGIC) throw new IOException(file + ": not a binary workload");
+            if (header.getInt(4) != VERSION) {
+                throw new IOException(file + ": unsupported version " + header.getInt(4));
+            }
+
+            int size = header.getInt(20);
+            int nameCount = header.getInt(24);
+            if (size < 0 || nameCount < 0) throw new IOException(file + ": negative count");
+            long recordBytes = (long) size * RECORD_BYTES;
+            long namesStart = HEADER_BYTES + recordBytes;
+            long nameBytes = length - namesStart;
+            if (nameBytes < 0) throw new IOException(file + ": truncated");
+            // a mapping is limited to 2 GB, i.e. about 100M processes
+            if (recordBytes > Integer.MAX_VALUE || nameBytes > Integer.MAX_VALUE) {
+                throw new IOException(file + ": over 2 GB of records or names");
+            }
+            if (4L * (nameCount + 1L) > nameBytes) throw new IOException(file + ": truncated");
+            ByteBuffer records = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, recordBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            ByteBuffer names = channel.map(FileChannel.MapMode.READ_ONLY, namesStart, nameBytes)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+
+            // offsets start at 0, never go back and stay inside the bytes after them
+            long stringBytes = nameBytes - 4L * (nameCount + 1);
+            int previous = 0;
+            for (int i = 0; i <= nameCount; i++) {
+                int offset = names.getInt(4 * i);
+                if (offset < previous || offset > stringBytes || (i == 0 && offset != 0)) {
+                    throw new IOException(file + ": bad name offset " + offset + " at " + i);
+                }
+                previous = offset;
+            }
+            return new BinaryWorkload(header, records, names);
+        }
+    }
+
+    public int getContextSwitch() {
+        return contextSwitch;
+    }
+
+    public int getRrQuantum() {
+        return rrQuantum;
+    }
+
+    public int getAgingInterval() {
+        return agingInterval;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getNameCount() {
+        return nameCount;
+    }
+
+    public int getArrivalTime(int i) {
+        return records.getInt(at(i));
+    }
+
+    public int getBurstTime(int i) {
+        return records.getInt(at(i) + 4);
+    }
+
+    public int getPriority(int i) {
+        return records.getInt(at(i) + 8);
+    }
+
+    public int getQuantum(int i) {
+        return records.getInt(at(i) + 12);
+    }
+
+    public int getNameId(int i) {
+        return records.getInt(at(i) + 16);
+    }
+
+    public String getName(int i) {
+        return name(getNameId(i));
+    }
+
+    // Position of record i, computed in long so that a bad index cannot wrap into the mapping
+    private int at(int i) {
+        Objects.checkIndex(i, size);
+        return (int) ((long) i * RECORD_BYTES);
+    }
+
+    /** Decodes one entry of the string table. */
+    public String name(int nameId) {
+        Objects.checkIndex(nameId, nameCount);
+        int from = names.getInt(4 * nameId);
+        int to = names.getInt(4 * nameId + 4);
+        byte[] bytes = new byte[to - from];
+        names.get(nameBytesStart + from, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /** The string table as a list that decodes on get(). */
+    public List<String> names() {
+        return new AbstractList<>() {
+            @Override
+            public String get(int nameId) {
+                return name(nameId);
+            }
+
+            @Override
+            public int size() {
+                return nameCount;
+            }
+        };
+    }
+
+    /**
+     * Column copy of the records into a Workload; names stay in the mapped
+     * string table until an engine asks for one.
+     */
+    public Workload toWorkload() {
+        int[] arrival = new int[size];
+        int[] burst = new int[size];
+        int[] priority = new int[size];
+        int[] quantum = new int[size];
+        int[] nameId = new int[size];
+        for (int i = 0, at = 0; i < size; i++, at += RECORD_BYTES) {
+            arrival[i] = records.getInt(at);
+            burst[i] = records.getInt(at + 4);
+            priority[i] = records.getInt(at + 8);
+            quantum[i] = records.getInt(at + 12);
+            nameId[i] = records.getInt(at + 16);
+        }
+        return new Workload(size, nameId, arrival, burst, priority, quantum, names());
+    }
+
+    /** A table for one run, ready for Scheduler.schedule. */
+    public ProcessTable toTable() {
+        return new ProcessTable(toWorkload());
+    }
+
+    public List<Process> toProcesses() {
+        List<Process> processes = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            processes.add(new Process(getName(i), getArrivalTime(i), getBurstTime(i), getPriority(i), getQuantum(i)));
+        }
+        return processes;
+    }
+}
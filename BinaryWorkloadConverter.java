@@ -0,0 +1,42 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Converts test-case JSON files to the binary workload format.
+ * Usage: java BinaryWorkloadConverter input.json [output.bin]
+ * (default output: the input path with ".json" replaced by ".bin")
+ */
+public class BinaryWorkloadConverter {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java BinaryWorkloadConverter input.json [output.bin]");
+            return;
+        }
+        Path json = Path.of(args[0]);
+        Path bin = Path.of(args.length > 1 ? args[1] : args[0].replaceFirst("\\.json$", "") + ".bin");
+
+        long start = System.nanoTime();
+        long count = convert(json, bin);
+        System.out.printf("%s -> %s: %,d processes in %.2f s%n", json, bin, count, (System.nanoTime() - start) / 1e9);
+    }
+
+    /**
+     * Streams the processes of a JSON workload into a binary one; returns how
+     * many were written. If the JSON cannot be read to the end, no binary file
+     * is left behind.
+     */
+    public static long convert(Path json, Path bin) throws IOException {
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(json);
+             BinaryWorkloadWriter writer = new BinaryWorkloadWriter(bin)) {
+            while (reader.next()) {
+                writer.add(reader.getName(), reader.getArrivalTime(), reader.getBurstTime(),
+                        reader.getPriority(), reader.getQuantum());
+            }
+            // known only now: parameters may follow the processes in the JSON
+            writer.setParameters(reader.getContextSwitch(), reader.getRrQuantum(), reader.getAgingInterval());
+            writer.finish();
+            return reader.getCount();
+        }
+    }
+}
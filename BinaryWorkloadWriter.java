@@ -0,0 +1,110 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * Writes the binary workload format read by BinaryWorkload. Records are
+ * streamed out as they are added; the header and the string table are
+ * written by finish(), so the parameters may be set at any point before that.
+ * Closing a writer that was not finished deletes the file: a run that failed
+ * half way never leaves a file that opens as a shorter workload.
+ */
+public class BinaryWorkloadWriter implements Closeable {
+
+    private static final int BUFFER_BYTES = 1 << 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+
+    private int contextSwitch;
+    private int rrQuantum;
+    private int agingInterval;
+    private int size;
+    private boolean finished;
+
+    public BinaryWorkloadWriter(Path file) throws IOException {
+        this.file = file;
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        channel.position(BinaryWorkload.HEADER_BYTES);
+    }
+
+    public void setParameters(int contextSwitch, int rrQuantum, int agingInterval) {
+        this.contextSwitch = contextSwitch;
+        this.rrQuantum = rrQuantum;
+        this.agingInterval = agingInterval;
+    }
+
+    public void add(String name, int arrivalTime, int burstTime, int priority, int quantum) throws IOException {
+        int nameId = nameIds.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+        ensure(BinaryWorkload.RECORD_BYTES);
+        buffer.putInt(arrivalTime).putInt(burstTime).putInt(priority).putInt(quantum).putInt(nameId);
+        size++;
+    }
+
+    /** Writes the string table and then the header, which is what makes the file valid. */
+    public void finish() throws IOException {
+        // string table: offsets first, then the bytes
+        byte[][] encoded = new byte[names.size()][];
+        int offset = 0;
+        ensure(4);
+        buffer.putInt(0);
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+            offset += encoded[i].length;
+            ensure(4);
+            buffer.putInt(offset);
+        }
+        for (byte[] bytes : encoded) {
+            for (int from = 0; from < bytes.length; ) {
+                ensure(1);
+                int chunk = Math.min(buffer.remaining(), bytes.length - from);
+                buffer.put(bytes, from, chunk);
+                from += chunk;
+            }
+        }
+        drain();
+
+        buffer.putInt(BinaryWorkload.MAGIC).putInt(BinaryWorkload.VERSION)
+                .putInt(contextSwitch).putInt(rrQuantum).putInt(agingInterval)
+                .putInt(size).putInt(names.size()).putInt(0);
+        buffer.flip();
+        for (long at = 0; buffer.hasRemaining(); ) at += channel.write(buffer, at);
+        channel.close();
+        finished = true;
+    }
+
+    /** Deletes the file unless finish() went through. */
+    @Override
+    public void close() throws IOException {
+        if (finished) return;
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) drain();
+    }
+
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) channel.write(buffer);
+        buffer.clear();
+    }
+}
@@ -0,0 +1,143 @@
+import java.util.Arrays;
+
+/**
+ * Multi-level ready queue: one FIFO bucket per priority level and a bitmap of
+ * the non-empty levels. Enqueue, removal, aging moves and dispatch are O(1)
+ * (plus a word scan of the bitmap, which is tiny for bounded priorities).
+ *
+ * Buckets are intrusive doubly linked lists over the process ids, so nothing
+ * is allocated after construction. Within a level, processes are served in
+ * the order they reached that level, and a running process keeps the CPU
+ * against a queued process of the same level.
+ */
+public class BucketReadyQueue implements ReadyQueue {
+
+    /** Upper bound on distinct levels, to keep a stray huge priority from allocating gigabytes. */
+    public static final int MAX_LEVELS = 1 << 20;
+
+    private final int minPriority;
+    private int[] head;     // level -> first id, -1 if empty
+    private int[] tail;     // level -> last id
+    private int[] next;     // id -> next id in its bucket
+    private int[] prev;     // id -> previous id in its bucket
+    private int[] level;    // id -> level, -1 when not queued
+    private long[] nonEmpty; // bit per level
+    private int lowestWord;        // no set bit exists below this word
+    private int size;
+
+    public BucketReadyQueue(int capacity, int minPriority, int maxPriority) {
+        long levels = (long) maxPriority - minPriority + 1;
+        if (levels < 1 || levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("Priority range [" + minPriority + ", " + maxPriority
+                    + "] is too wide for a bucket ready queue");
+        }
+        this.minPriority = minPriority;
+        head = new int[(int) levels];
+        tail = new int[(int) levels];
+        next = new int[capacity];
+        prev = new int[capacity];
+        level = new int[capacity];
+        nonEmpty = new long[(int) ((levels + 63) >>> 6)];
+        lowestWord = nonEmpty.length;
+        Arrays.fill(head, -1);
+        Arrays.fill(level, -1);
+    }
+
+    @Override
+    public void add(int id, int priority) {
+        int l = priority - minPriority;
+        if (l >= head.length) growLevels(l + 1);
+        level[id] = l;
+        next[id] = -1;
+        if (head[l] == -1) {
+            prev[id] = -1;
+            head[l] = id;
+            nonEmpty[l >>> 6] |= 1L << l;
+            lowestWord = Math.min(lowestWord, l >>> 6);
+        } else {
+            prev[id] = tail[l];
+            next[tail[l]] = id;
+        }
+        tail[l] = id;
+        size++;
+    }
+
+    @Override
+    public void grow(int capacity, int[] tieRank) {
+        int old = level.length;
+        if (capacity <= old) return;
+        next = Arrays.copyOf(next, capacity);
+        prev = Arrays.copyOf(prev, capacity);
+        level = Arrays.copyOf(level, capacity);
+        Arrays.fill(level, old, capacity, -1);
+    }
+
+    // Online runs only learn the highest priority as processes come in; levels below minPriority stay out
+    private void growLevels(int levels) {
+        if (levels > MAX_LEVELS) {
+            throw new IllegalArgumentException("Priority " + (minPriority + levels - 1)
+                    + " is too far above " + minPriority + " for a bucket ready queue");
+        }
+        int old = head.length;
+        levels = (int) Math.min(MAX_LEVELS, Math.max(levels, 2L * old));
+        head = Arrays.copyOf(head, levels);
+        tail = Arrays.copyOf(tail, levels);
+        Arrays.fill(head, old, levels, -1);
+        nonEmpty = Arrays.copyOf(nonEmpty, (levels + 63) >>> 6);
+    }
+
+    @Override
+    public void remove(int id) {
+        int l = level[id];
+        if (prev[id] == -1) head[l] = next[id];
+        else next[prev[id]] = next[id];
+        if (next[id] == -1) tail[l] = prev[id];
+        else prev[next[id]] = prev[id];
+
+        if (head[l] == -1) nonEmpty[l >>> 6] &= ~(1L << l);
+        level[id] = -1;
+        size--;
+    }
+
+    @Override
+    public void changePriority(int id, int priority) {
+        if (level[id] == priority - minPriority) return;
+        remove(id);
+        add(id, priority);
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return level[id] != -1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public int peek() {
+        int l = lowestLevel();
+        return l == -1 ? -1 : head[l];
+    }
+
+    @Override
+    public int poll() {
+        int id = peek();
+        if (id != -1) remove(id);
+        return id;
+    }
+
+    @Override
+    public boolean headBeats(int id, int priority) {
+        int l = lowestLevel();
+        return l != -1 && l < priority - minPriority;
+    }
+
+    private int lowestLevel() {
+        if (size == 0) return -1;
+        while (nonEmpty[lowestWord] == 0) lowestWord++;
+        return (lowestWord << 6) + Long.numberOfTrailingZeros(nonEmpty[lowestWord]);
+    }
+}
@@ -0,0 +1,72 @@
+/**
+ * Execution sink that keeps totals only: constant memory for any run length.
+ * Rounds announced with onRepeat count as many times as they ran.
+ */
+public class CountingExecutionListener implements ExecutionListener {
+
+    private long dispatches;
+    private long preemptions;
+    private long completions;
+    private long idleGaps;
+    private long idleTime;
+    private long repeatLeft; // dispatch/preempt pairs still to come in the current round
+    private long repeatTimes;
+
+    @Override
+    public void onDispatch(int processId, int time) {
+        dispatches += repeatLeft > 0 ? repeatTimes : 1;
+    }
+
+    @Override
+    public void onPreempt(int processId, int time) {
+        if (repeatLeft > 0) {
+            preemptions += repeatTimes;
+            repeatLeft--;
+        } else {
+            preemptions++;
+        }
+    }
+
+    @Override
+    public void onComplete(int processId, int time) {
+        completions++;
+    }
+
+    @Override
+    public void onIdle(int start, int end) {
+        idleGaps++;
+        idleTime += end - start;
+    }
+
+    @Override
+    public void onRepeat(int k, int m) {
+        repeatLeft = k;
+        repeatTimes = m;
+    }
+
+    public long getDispatches() {
+        return dispatches;
+    }
+
+    public long getPreemptions() {
+        return preemptions;
+    }
+
+    public long getCompletions() {
+        return completions;
+    }
+
+    public long getIdleGaps() {
+        return idleGaps;
+    }
+
+    public long getIdleTime() {
+        return idleTime;
+    }
+
+    @Override
+    public String toString() {
+        return dispatches + " dispatches, " + preemptions + " preemptions, " + completions
+                + " completions, " + idleGaps + " idle gaps (" + idleTime + " units)";
+    }
+}
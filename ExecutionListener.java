@@ -0,0 +1,32 @@
+/**
+ * Receives the execution order of a run as it happens, so an engine never has
+ * to keep it itself. Events arrive in time order; a dispatch is always followed
+ * by the preemption or completion of the same process before the next dispatch.
+ *
+ * Sinks: ExecutionTrace (in memory), FileExecutionTrace (binary file) and
+ * CountingExecutionListener (totals only).
+ */
+public interface ExecutionListener {
+
+    void onDispatch(int processId, int time);
+
+    // Leaves the CPU unfinished (back to the ready queue)
+    void onPreempt(int processId, int time);
+
+    void onComplete(int processId, int time);
+
+    void onIdle(int start, int end);
+
+    // The next k dispatch/preempt pairs are one round that ran m times in a row
+    default void onRepeat(int k, int m) {
+    }
+
+    // The run is over; buffered sinks write out what they still hold
+    default void onFinish() {
+    }
+
+    /** Recorded events as (processId, start, end) records, or null if this sink keeps none. */
+    default TraceReader reader() {
+        return null;
+    }
+}
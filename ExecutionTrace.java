@@ -0,0 +1,145 @@
+import java.util.Arrays;
+
+/**
+ * In-memory execution sink: the execution order of one run, kept as
+ * (processId, start, end) int triples in a single growable array instead of
+ * one String per dispatch. Names are only looked up when the trace is rendered.
+ *
+ * With run merging on, a record for the same process that starts exactly where
+ * the previous one ended extends that record instead of adding a new one.
+ */
+public class ExecutionTrace implements ExecutionListener {
+
+    /** Process id of a gap in which the CPU had nothing to run. */
+    public static final int IDLE = -1;
+    /**
+     * Process id of a group header (REPEAT, k, m): the k records after it are one
+     * round that ran m times in a row. Only the first round's times are kept.
+     */
+    public static final int REPEAT = -2;
+
+    private final boolean mergeRuns;
+    private int[] data;
+    private int records;
+    private int sealed; // records before this one are never merged into
+
+    public ExecutionTrace() {
+        this(true);
+    }
+
+    public ExecutionTrace(boolean mergeRuns) {
+        this.mergeRuns = mergeRuns;
+        this.data = new int[3 * 16];
+    }
+
+    public void add(int processId, int start, int end) {
+        if (mergeRuns && records > sealed) {
+            int last = 3 * (records - 1);
+            if (data[last] == processId && data[last + 2] == start) {
+                data[last + 2] = end;
+                return;
+            }
+        }
+        if (3 * records == data.length) data = Arrays.copyOf(data, data.length * 2);
+        int slot = 3 * records++;
+        data[slot] = processId;
+        data[slot + 1] = start;
+        data[slot + 2] = end;
+    }
+
+    // Moves the end of the last record, which is only known once the process leaves the CPU
+    private void setLastEnd(int end) {
+        data[3 * (records - 1) + 2] = end;
+    }
+
+    @Override
+    public void onDispatch(int processId, int time) {
+        add(processId, time, time);
+    }
+
+    @Override
+    public void onPreempt(int processId, int time) {
+        setLastEnd(time);
+    }
+
+    @Override
+    public void onComplete(int processId, int time) {
+        setLastEnd(time);
+    }
+
+    @Override
+    public void onIdle(int start, int end) {
+        add(IDLE, start, end);
+    }
+
+    @Override
+    public void onRepeat(int k, int m) {
+        add(REPEAT, k, m);
+        sealed = records + k;
+    }
+
+    public int size() {
+        return records;
+    }
+
+    public boolean isEmpty() {
+        return records == 0;
+    }
+
+    public int getProcessId(int record) {
+        return data[3 * record];
+    }
+
+    public int getStart(int record) {
+        return data[3 * record + 1];
+    }
+
+    public int getEnd(int record) {
+        return data[3 * record + 2];
+    }
+
+    public void clear() {
+        records = 0;
+        sealed = 0;
+    }
+
+    /** Process name of a record, or "IDLE". */
+    public String label(int record, ProcessTable table) {
+        int id = getProcessId(record);
+        return id == IDLE ? "IDLE" : table.getName(id);
+    }
+
+    /** The whole trace on one line, as TraceReader.render writes it (idle gaps included). */
+    public String join(ProcessTable table, String delimiter) {
+        StringBuilder out = new StringBuilder();
+        reader().render(table, delimiter, true, out);
+        return out.toString();
+    }
+
+    @Override
+    public TraceReader reader() {
+        return new TraceReader() {
+            private int record = -1;
+
+            @Override
+            public boolean next() {
+                return ++record < records;
+            }
+
+            @Override
+            public int processId() {
+                return getProcessId(record);
+            }
+
+            @Override
+            public int start() {
+                return getStart(record);
+            }
+
+            @Override
+            public int end() {
+                return getEnd(record);
+            }
+        };
+    }
+}
@@ -0,0 +1,199 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Execution sink that streams the records of ExecutionTrace to a binary file
+ * (three big-endian ints per record) through a FileChannel, so the heap only
+ * holds one write buffer however long the run is. The last record stays in
+ * fields until the next event, because its end is only known when the process
+ * leaves the CPU.
+ */
+public class FileExecutionTrace implements ExecutionListener, Closeable {
+
+    private static final int RECORD_BYTES = 12;
+    private static final int BUFFER_BYTES = RECORD_BYTES * 8192;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_BYTES);
+    private final boolean mergeRuns;
+
+    private boolean pending; // a record is waiting in the fields below
+    private int pendingId;
+    private int pendingStart;
+    private int pendingEnd;
+    private int unmergeable; // records still to come that belong to a repeated round
+    private long records;
+
+    public FileExecutionTrace(Path file) throws IOException {
+        this(file, true);
+    }
+
+    public FileExecutionTrace(Path file, boolean mergeRuns) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        this.mergeRuns = mergeRuns;
+    }
+
+    @Override
+    public void onDispatch(int processId, int time) {
+        add(processId, time, time);
+    }
+
+    @Override
+    public void onPreempt(int processId, int time) {
+        pendingEnd = time;
+    }
+
+    @Override
+    public void onComplete(int processId, int time) {
+        pendingEnd = time;
+    }
+
+    @Override
+    public void onIdle(int start, int end) {
+        add(ExecutionTrace.IDLE, start, end);
+    }
+
+    @Override
+    public void onRepeat(int k, int m) {
+        add(ExecutionTrace.REPEAT, k, m);
+        unmergeable = k + 1; // the header itself is still pending
+    }
+
+    @Override
+    public void onFinish() {
+        closePending();
+        drain();
+    }
+
+    private void add(int processId, int start, int end) {
+        if (pending) {
+            if (mergeRuns && unmergeable == 0 && pendingId == processId && pendingEnd == start) {
+                pendingEnd = end;
+                return;
+            }
+            write(pendingId, pendingStart, pendingEnd);
+            if (unmergeable > 0) unmergeable--;
+        }
+        pending = true;
+        pendingId = processId;
+        pendingStart = start;
+        pendingEnd = end;
+    }
+
+    private void write(int processId, int start, int end) {
+        if (buffer.remaining() < RECORD_BYTES) drain();
+        buffer.putInt(processId).putInt(start).putInt(end);
+        records++;
+    }
+
+    private void drain() {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) channel.write(buffer);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    /**
+     * Writes every closed record to the file; recording can go on afterwards.
+     * The record of the process still on the CPU stays pending, since its end
+     * can still move; it is written when the run finishes.
+     */
+    public void flush() {
+        drain();
+    }
+
+    // The run is over, so the last record is closed too
+    private void closePending() {
+        if (pending) {
+            write(pendingId, pendingStart, pendingEnd);
+            if (unmergeable > 0) unmergeable--;
+            pending = false;
+        }
+    }
+
+    /** Records written to the file so far (closed ones only until the run finishes). */
+    public long size() {
+        return records;
+    }
+
+    /**
+     * Reads the records so far with its own buffer: the file (flushed first),
+     * then the pending record as it stands now, which is not committed.
+     */
+    @Override
+    public TraceReader reader() {
+        flush();
+        long fileBytes = records * RECORD_BYTES;
+        boolean withPending = pending;
+        int[] open = {pendingId, pendingStart, pendingEnd};
+        return new TraceReader() {
+            private final ByteBuffer in = ByteBuffer.allocate(BUFFER_BYTES).limit(0);
+            private long position;
+            private boolean pendingLeft = withPending;
+            private int id, start, end;
+
+            @Override
+            public boolean next() {
+                if (in.remaining() < RECORD_BYTES && !fill()) {
+                    if (!pendingLeft) return false;
+                    pendingLeft = false;
+                    id = open[0];
+                    start = open[1];
+                    end = open[2];
+                    return true;
+                }
+                id = in.getInt();
+                start = in.getInt();
+                end = in.getInt();
+                return true;
+            }
+
+            private boolean fill() {
+                in.compact();
+                // only what was in the file when the reader was made
+                in.limit((int) Math.min(in.capacity(), in.position() + (fileBytes - position)));
+                try {
+                    int read;
+                    while (in.hasRemaining() && (read = channel.read(in, position)) > 0) {
+                        position += read;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                in.flip();
+                return in.remaining() >= RECORD_BYTES;
+            }
+
+            @Override
+            public int processId() {
+                return id;
+            }
+
+            @Override
+            public int start() {
+                return start;
+            }
+
+            @Override
+            public int end() {
+                return end;
+            }
+        };
+    }
+
+    @Override
+    public void close() throws IOException {
+        closePending();
+        drain();
+        channel.close();
+    }
+}
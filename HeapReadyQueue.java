@@ -0,0 +1,64 @@
+/**
+ * Ready queue ordered by (priority, tie rank) on top of an IndexedMinHeap.
+ */
+public class HeapReadyQueue implements ReadyQueue {
+
+    private final IndexedMinHeap heap;
+    private int[] tieRank;
+
+    public HeapReadyQueue(int capacity, int[] tieRank) {
+        this.heap = new IndexedMinHeap(capacity);
+        this.tieRank = tieRank;
+    }
+
+    @Override
+    public void add(int id, int priority) {
+        heap.insert(id, key(id, priority));
+    }
+
+    @Override
+    public void grow(int capacity, int[] tieRank) {
+        heap.grow(capacity);
+        this.tieRank = tieRank;
+    }
+
+    @Override
+    public void remove(int id) {
+        heap.remove(id);
+    }
+
+    @Override
+    public void changePriority(int id, int priority) {
+        heap.changeKey(id, key(id, priority));
+    }
+
+    @Override
+    public boolean contains(int id) {
+        return heap.contains(id);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return heap.isEmpty();
+    }
+
+    @Override
+    public int peek() {
+        return heap.peek();
+    }
+
+    @Override
+    public int poll() {
+        return heap.poll();
+    }
+
+    @Override
+    public boolean headBeats(int id, int priority) {
+        return !heap.isEmpty() && heap.peekKey() < key(id, priority);
+    }
+
+    // Lower key = served first; ties go to the lower rank.
+    private long key(int id, int priority) {
+        return ((long) priority << 32) + tieRank[id];
+    }
+}
@@ -0,0 +1,144 @@
+import java.util.Arrays;
+
+/**
+ * Binary min-heap over the ids 0..capacity-1 with one long key per id.
+ * The heap remembers where every id sits, so contains / remove / changeKey
+ * are O(log n) instead of the linear search a java.util.PriorityQueue needs.
+ * Equal keys are ordered by an optional secondary tie key, then by id, so
+ * results never depend on insertion order.
+ */
+public class IndexedMinHeap {
+
+    private int[] heap;      // heap slot -> id
+    private int[] position;  // id -> heap slot, -1 when not in the heap
+    private long[] keys;     // id -> key
+    private long[] ties;     // id -> secondary key, compared when keys are equal
+    private int size;
+
+    public IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        keys = new long[capacity];
+        ties = new long[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public boolean contains(int id) {
+        return position[id] != -1;
+    }
+
+    public long keyOf(int id) {
+        return keys[id];
+    }
+
+    /** Id with the smallest key, or -1 if the heap is empty. */
+    public int peek() {
+        return size == 0 ? -1 : heap[0];
+    }
+
+    /** Smallest key in the heap; only valid when the heap is not empty. */
+    public long peekKey() {
+        return keys[heap[0]];
+    }
+
+    public void insert(int id, long key) {
+        insert(id, key, 0);
+    }
+
+    public void insert(int id, long key, long tie) {
+        keys[id] = key;
+        ties[id] = tie;
+        heap[size] = id;
+        position[id] = size;
+        size++;
+        siftUp(size - 1);
+    }
+
+    /** Removes and returns the id with the smallest key, or -1 if the heap is empty. */
+    public int poll() {
+        if (size == 0) return -1;
+        int top = heap[0];
+        remove(top);
+        return top;
+    }
+
+    public void remove(int id) {
+        int slot = position[id];
+        int last = heap[--size];
+        position[id] = -1;
+        if (slot == size) return;
+
+        heap[slot] = last;
+        position[last] = slot;
+        siftUp(slot);
+        siftDown(position[last]);
+    }
+
+    /** Updates the key of an id already in the heap (works for both decrease and increase). */
+    public void changeKey(int id, long key) {
+        long old = keys[id];
+        keys[id] = key;
+        if (key < old) siftUp(position[id]);
+        else siftDown(position[id]);
+    }
+
+    /** Makes room for ids below capacity (never shrinks). */
+    public void grow(int capacity) {
+        int old = position.length;
+        if (capacity <= old) return;
+        heap = Arrays.copyOf(heap, capacity);
+        position = Arrays.copyOf(position, capacity);
+        keys = Arrays.copyOf(keys, capacity);
+        ties = Arrays.copyOf(ties, capacity);
+        Arrays.fill(position, old, capacity, -1);
+    }
+
+    public void clear() {
+        for (int i = 0; i < size; i++) position[heap[i]] = -1;
+        size = 0;
+    }
+
+    // ================= Helpers =================
+
+    private boolean less(int a, int b) {
+        if (keys[a] != keys[b]) return keys[a] < keys[b];
+        if (ties[a] != ties[b]) return ties[a] < ties[b];
+        return a < b;
+    }
+
+    private void siftUp(int slot) {
+        int id = heap[slot];
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (!less(id, heap[parent])) break;
+            heap[slot] = heap[parent];
+            position[heap[slot]] = slot;
+            slot = parent;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+
+    private void siftDown(int slot) {
+        int id = heap[slot];
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) break;
+            if (child + 1 < size && less(heap[child + 1], heap[child])) child++;
+            if (!less(heap[child], id)) break;
+            heap[slot] = heap[child];
+            position[heap[slot]] = slot;
+            slot = child;
+        }
+        heap[slot] = id;
+        position[id] = slot;
+    }
+}
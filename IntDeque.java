@@ -0,0 +1,82 @@
+/**
+ * Growable ring-buffer deque of ints (no boxing, no per-element nodes).
+ *
+ * Every element gets an absolute position: pushBack hands out increasing
+ * positions and pushFront decreasing ones, so comparing positions tells which
+ * of two elements is nearer the front. Callers that move an element to the
+ * front can keep the old copy in place and skip it later by checking its
+ * position (lazy deletion).
+ */
+public class IntDeque {
+
+    private int[] buffer;
+    private long head; // position of the first element
+    private long tail; // position after the last element
+
+    public IntDeque() {
+        this(16);
+    }
+
+    public IntDeque(int initialCapacity) {
+        int capacity = Integer.highestOneBit(Math.max(2, initialCapacity - 1)) << 1;
+        buffer = new int[capacity];
+    }
+
+    public int size() {
+        return (int) (tail - head);
+    }
+
+    public boolean isEmpty() {
+        return head == tail;
+    }
+
+    /** Appends a value and returns its position. */
+    public long pushBack(int value) {
+        if (size() == buffer.length) grow();
+        buffer[slot(tail)] = value;
+        return tail++;
+    }
+
+    /** Prepends a value and returns its position. */
+    public long pushFront(int value) {
+        if (size() == buffer.length) grow();
+        buffer[slot(--head)] = value;
+        return head;
+    }
+
+    /** Only valid when the deque is not empty. */
+    public int peekFirst() {
+        return buffer[slot(head)];
+    }
+
+    /** Element "offset" places behind the front (0 = first); only valid for offset < size(). */
+    public int get(int offset) {
+        return buffer[slot(head + offset)];
+    }
+
+    /** Position of the first element; only valid when the deque is not empty. */
+    public long firstPosition() {
+        return head;
+    }
+
+    /** Only valid when the deque is not empty. */
+    public int pollFirst() {
+        return buffer[slot(head++)];
+    }
+
+    public void clear() {
+        head = tail = 0;
+    }
+
+    private int slot(long position) {
+        return (int) position & (buffer.length - 1);
+    }
+
+    private void grow() {
+        int[] old = buffer;
+        buffer = new int[old.length * 2];
+        for (long p = head; p < tail; p++) {
+            buffer[slot(p)] = old[(int) p & (old.length - 1)];
+        }
+    }
+}
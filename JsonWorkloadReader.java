@@ -0,0 +1,239 @@
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streaming reader for the test-case JSON format
+ * ({"input": {"contextSwitch", "rrQuantum", "agingInterval", "processes": [...]}, ...}).
+ *
+ * Unlike JsonParser.parseReader it never builds a tree: processes are handed out
+ * one at a time with next(), so only the current one is in memory and a caller
+ * can start working on the first processes before the file has been read to
+ * the end (StreamingRunner feeds them to an OnlineScheduler that way).
+ * Everything outside "input" (e.g. "expectedOutput") is skipped.
+ *
+ * The scheduler parameters are read wherever they appear in "input"; the ones
+ * written after "processes" are only known once next() has returned false.
+ *
+ * A file may also hold an array of test cases (e.g. one per tenant). The
+ * reader starts on the first one; nextWorkload() moves on to the next.
+ */
+public class JsonWorkloadReader implements Closeable {
+
+    private static final int BUFFER_CHARS = 1 << 16;
+
+    private final JsonReader json;
+    private int workloadIndex = -1; // position in a top-level array, -1 for a single test case
+    private boolean inProcesses;
+    private boolean done;
+
+    private int contextSwitch;
+    private int rrQuantum;
+    private int agingInterval;
+
+    private String name;
+    private int arrivalTime;
+    private int burstTime;
+    private int priority;
+    private int quantum;
+
+    private long count;
+    private boolean arrivalOrdered = true;
+    private int lastArrival = Integer.MIN_VALUE;
+
+    public JsonWorkloadReader(Path file) throws IOException {
+        this(new BufferedReader(new InputStreamReader(Files.newInputStream(file), StandardCharsets.UTF_8), BUFFER_CHARS));
+    }
+
+    public JsonWorkloadReader(Reader in) throws IOException {
+        json = new JsonReader(in);
+        if (json.peek() == JsonToken.BEGIN_ARRAY) {
+            json.beginArray();
+            if (!json.hasNext()) {
+                done = true;
+                return;
+            }
+            workloadIndex = 0;
+        }
+        begin();
+    }
+
+    // Reads a test case up to its first process, or all of it if there is none
+    private void begin() throws IOException {
+        json.beginObject();
+        while (json.hasNext()) {
+            if (json.nextName().equals("input")) {
+                json.beginObject();
+                if (readParameters()) return; // positioned on the first process
+                json.endObject();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        done = true;
+    }
+
+    // Reads "input" members up to "processes" (true, array opened) or to its end (false)
+    private boolean readParameters() throws IOException {
+        while (json.hasNext()) {
+            switch (json.nextName()) {
+                case "contextSwitch" -> contextSwitch = json.nextInt();
+                case "rrQuantum" -> rrQuantum = json.nextInt();
+                case "agingInterval" -> agingInterval = json.nextInt();
+                case "processes" -> {
+                    json.beginArray();
+                    inProcesses = true;
+                    return true;
+                }
+                default -> json.skipValue();
+            }
+        }
+        return false;
+    }
+
+    /** Moves to the next process; false once the processes array (and the file) is finished. */
+    public boolean next() throws IOException {
+        if (done) return false;
+        if (inProcesses && json.hasNext()) {
+            readProcess();
+            return true;
+        }
+        if (inProcesses) {
+            json.endArray();
+            inProcesses = false;
+            // the rest of "input", then the rest of the file
+            if (readParameters()) return next();
+            json.endObject();
+            while (json.hasNext()) {
+                json.nextName();
+                json.skipValue();
+            }
+            json.endObject();
+        }
+        done = true;
+        return false;
+    }
+
+    private void readProcess() throws IOException {
+        name = null;
+        arrivalTime = 0;
+        burstTime = 0;
+        priority = 0;
+        quantum = 0;
+
+        json.beginObject();
+        while (json.hasNext()) {
+            String field = json.nextName();
+            if (json.peek() == JsonToken.NULL) {
+                json.skipValue();
+                continue;
+            }
+            switch (field) {
+                case "name" -> name = json.nextString();
+                case "arrival" -> arrivalTime = json.nextInt();
+                case "burst" -> burstTime = json.nextInt();
+                case "priority" -> priority = json.nextInt();
+                case "quantum" -> quantum = json.nextInt();
+                default -> json.skipValue();
+            }
+        }
+        json.endObject();
+
+        if (name == null) throw new IOException("process " + count + " has no name");
+        if (arrivalTime < lastArrival) arrivalOrdered = false;
+        lastArrival = arrivalTime;
+        count++;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getArrivalTime() {
+        return arrivalTime;
+    }
+
+    public int getBurstTime() {
+        return burstTime;
+    }
+
+    public int getPriority() {
+        return priority;
+    }
+
+    public int getQuantum() {
+        return quantum;
+    }
+
+    public int getContextSwitch() {
+        return contextSwitch;
+    }
+
+    public int getRrQuantum() {
+        return rrQuantum;
+    }
+
+    public int getAgingInterval() {
+        return agingInterval;
+    }
+
+    /**
+     * Skips what is left of the current test case and moves to the next one
+     * of a top-level array; false if there is none. Parameters, count and
+     * arrival order then start over for the new test case.
+     */
+    public boolean nextWorkload() throws IOException {
+        while (next()) {
+            // skip
+        }
+        if (workloadIndex < 0 || !json.hasNext()) return false;
+        contextSwitch = 0;
+        rrQuantum = 0;
+        agingInterval = 0;
+        count = 0;
+        arrivalOrdered = true;
+        lastArrival = Integer.MIN_VALUE;
+        done = false;
+        workloadIndex++;
+        begin();
+        return true;
+    }
+
+    /** Index of the current test case in a top-level array, or -1 if the file holds just one. */
+    public int getWorkloadIndex() {
+        return workloadIndex;
+    }
+
+    /** Processes read so far. */
+    public long getCount() {
+        return count;
+    }
+
+    /** Whether the processes read so far came in non-decreasing arrival order. */
+    public boolean isArrivalOrdered() {
+        return arrivalOrdered;
+    }
+
+    /** Reads the remaining processes straight into primitive arrays (no Process objects). */
+    public ProcessTable readTable() throws IOException {
+        ProcessTable table = new ProcessTable();
+        while (next()) {
+            table.add(name, arrivalTime, burstTime, priority, quantum);
+        }
+        return table;
+    }
+
+    @Override
+    public void close() throws IOException {
+        json.close();
+    }
+}
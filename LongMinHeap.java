@@ -0,0 +1,66 @@
+import java.util.Arrays;
+
+/**
+ * Growable binary min-heap of primitive longs.
+ * Callers pack their whole ordering (and the id they need back) into one
+ * long, so every heap comparison is a single primitive compare.
+ */
+public class LongMinHeap {
+
+    private long[] heap;
+    private int size;
+
+    public LongMinHeap() {
+        this(16);
+    }
+
+    public LongMinHeap(int initialCapacity) {
+        heap = new long[Math.max(1, initialCapacity)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void add(long value) {
+        if (size == heap.length) heap = Arrays.copyOf(heap, size * 2);
+        int slot = size++;
+        while (slot > 0) {
+            int parent = (slot - 1) >>> 1;
+            if (heap[parent] <= value) break;
+            heap[slot] = heap[parent];
+            slot = parent;
+        }
+        heap[slot] = value;
+    }
+
+    /** Only valid when the heap is not empty. */
+    public long peek() {
+        return heap[0];
+    }
+
+    /** Only valid when the heap is not empty. */
+    public long poll() {
+        long top = heap[0];
+        long last = heap[--size];
+        int slot = 0;
+        while (true) {
+            int child = 2 * slot + 1;
+            if (child >= size) break;
+            if (child + 1 < size && heap[child + 1] < heap[child]) child++;
+            if (last <= heap[child]) break;
+            heap[slot] = heap[child];
+            slot = child;
+        }
+        heap[slot] = last;
+        return top;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
@@ -12,51 +12,49 @@
 * 10) Enter OK
 * 11) Congrats Now the Main file will work with u without problems ^^
 * */
-import com.google.gson.*;
-import java.io.FileReader;
+import java.nio.file.Path;
 import java.util.*;
 
-public class Main {
+public class Main2 {
 
     public static void main(String[] args) {
         String jsonFile = "test_2.json";        // Dear team please change this according to the name of the JSON file u use while testing ur class.
         if (args.length > 0) jsonFile = args[0];
 
         try {
-            JsonObject root = JsonParser.parseReader(new FileReader(jsonFile)).getAsJsonObject();
-            JsonObject input = root.getAsJsonObject("input");
-
-            int contextSwitch = input.has("contextSwitch") ? input.get("contextSwitch").getAsInt() : 0;
-            int rrQuantum = input.has("rrQuantum") ? input.get("rrQuantum").getAsInt() : 0;
-            int agingInterval = input.has("agingInterval") ? input.get("agingInterval").getAsInt() : 0;
-
-            // Read original processes from JSON
-            List<Process> originalProcesses = new ArrayList<>();
-            JsonArray procs = input.getAsJsonArray("processes");
-            for (JsonElement e : procs) {
-                JsonObject p = e.getAsJsonObject();
-                String name = p.get("name").getAsString();
-                int arrival = p.get("arrival").getAsInt();
-                int burst = p.get("burst").getAsInt();
-                int priority = p.has("priority") ? p.get("priority").getAsInt() : 0;
-                int quantum = p.has("quantum") ? p.get("quantum").getAsInt() : 0;
-
-                originalProcesses.add(new Process(name, arrival, burst, priority, quantum));
+            // Read the workload from JSON once (streamed, no JSON tree in memory)
+            Workload workload;
+            int contextSwitch;
+            int rrQuantum;
+            int agingInterval;
+            try (JsonWorkloadReader reader = new JsonWorkloadReader(Path.of(jsonFile))) {
+                workload = reader.readTable().getWorkload();
+                contextSwitch = reader.getContextSwitch();
+                rrQuantum = reader.getRrQuantum();
+                agingInterval = reader.getAgingInterval();
             }
 
             // Scheduler types we want to run on the same testcase
             String[] schedulerTypes = {"SJF", "RR", "PRIORITY", "AG"};
 
-            for (String schedulerType : schedulerTypes) {
-                // Make a fresh deep copy of processes for each scheduler run
-                List<Process> processesCopy = deepCopyProcesses(originalProcesses);
-
-                Scheduler scheduler = createScheduler(
-                        schedulerType,
+            // The runs are independent (each gets its own per-run table on the shared
+            // workload), so all of them run at once; results are printed in this order
+            Scheduler[] schedulers = new Scheduler[schedulerTypes.length];
+            SchedulerComparison comparison = new SchedulerComparison(workload);
+            for (int i = 0; i < schedulerTypes.length; i++) {
+                schedulers[i] = createScheduler(
+                        schedulerTypes[i],
                         contextSwitch,
                         rrQuantum,
                         agingInterval
                 );
+                if (schedulers[i] != null) comparison.add(schedulerTypes[i], schedulers[i]);
+            }
+            List<SchedulerComparison.Result> results = comparison.run();
+
+            for (int i = 0; i < schedulerTypes.length; i++) {
+                String schedulerType = schedulerTypes[i];
+                Scheduler scheduler = schedulers[i];
 
                 System.out.println("==============================================");
                 System.out.println("Running Scheduler: " + schedulerType);
@@ -68,9 +66,6 @@ public class Main {
                     continue;
                 }
 
-                // Run scheduling
-                scheduler.schedule(processesCopy);
-
                 // Print results
                 scheduler.printExecutionOrder();
                 System.out.println();
@@ -87,24 +82,13 @@ public class Main {
                 System.out.println();
             }
 
+            SchedulerComparison.printTable(results);
+
         } catch (Exception ex) {
             ex.printStackTrace();
         }
     }
 
-    /**
-     * Deep copy processes because Process objects are mutated by schedulers.
-     */
-    private static List<Process> deepCopyProcesses(List<Process> original) {
-        List<Process> copy = new ArrayList<>();
-        for (Process p : original) {
-            // Use the constructor: Process(String name, int arrivalTime, int burstTime, int priority, int quantum)
-            Process q = new Process(p.getName(), p.getArrivalTime(), p.getBurstTime(), p.getPriority(), p.getQuantum());
-            copy.add(q);
-        }
-        return copy;
-    }
-
     /**
      * Factory to create schedulers.
      * TODO: When you implement RRScheduler, PriorityScheduler, AGScheduler add cases below.
@@ -127,19 +111,19 @@ public class Main {
 
             case "RR":
                 // TODO: Implement RRScheduler (implements Scheduler) and uncomment below. DONE
-                //return new RRScheduler(contextSwitch, rrQuantum);
-               return null;
+                return new RRScheduler(contextSwitch, rrQuantum);
+               //return null;
 
             case "PRIORITY":
                 // TODO: Implement PriorityScheduler (implements Scheduler) and uncomment below.
-                // return new PriorityScheduler(contextSwitch, agingInterval);
-                return null;
+                 return new PriorityScheduler(contextSwitch, agingInterval);
+                //return null;
 
             case "AG":
                 // TODO: Implement AGScheduler (implements Scheduler) and uncomment below.
                 // AG may need extra params (e.g. defaultQuantum). Read them from JSON and pass here.
-                // return new AGScheduler(contextSwitch);
-                return new AGScheduler();
+                 return new AGScheduler(contextSwitch);
+                //return new AGScheduler();
                 
 
             default:
@@ -0,0 +1,46 @@
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Unbounded lock-free queue for many producers and a single consumer.
+ *
+ * A producer swaps its node in as the new tail (one getAndSet) and then links
+ * the old tail to it; the consumer follows the links from a stub head node.
+ * Producers never wait on each other or on the consumer. A value whose offer()
+ * is still between the swap and the link is simply picked up by the next poll
+ * after it; once offer() has returned, the next poll() sees it.
+ */
+public class MpscQueue<T> {
+
+    private static final class Node<T> {
+        T value;
+        volatile Node<T> next;
+
+        Node(T value) {
+            this.value = value;
+        }
+    }
+
+    private final AtomicReference<Node<T>> tail;
+    private Node<T> head; // consumer only; its value has already been taken
+
+    public MpscQueue() {
+        head = new Node<>(null);
+        tail = new AtomicReference<>(head);
+    }
+
+    /** Any thread. */
+    public void offer(T value) {
+        Node<T> node = new Node<>(value);
+        tail.getAndSet(node).next = node;
+    }
+
+    /** Consumer thread only. Returns null when nothing (fully linked) is queued. */
+    public T poll() {
+        Node<T> next = head.next;
+        if (next == null) return null;
+        head = next;
+        T value = next.value;
+        next.value = null;
+        return value;
+    }
+}
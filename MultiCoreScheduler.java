@@ -0,0 +1,483 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+
+/**
+ * SJF (preemptive), RR or Priority (with aging) on several CPUs, for "what if
+ * we had k cores" questions. The single-CPU engines stay as they are.
+ *
+ * Every core has its own ready queue. An arriving process goes to the least
+ * loaded core (fewest ready plus running, lowest index on ties). A core that
+ * runs out of work steals the next process of the core with the longest ready
+ * queue. Preemption (SJF, Priority) only looks at the core's own queue.
+ *
+ * Costs are one model for every policy and core, not each single-CPU
+ * engine's own: a core pays contextSwitch only when it dispatches a different
+ * process than it last ran, a process that last ran on another core pays
+ * migrationCost instead, and a switch once started is not taken back. So with
+ * contextSwitch > 0 one core does not reproduce the single-CPU engines:
+ * RRScheduler pays a switch after every slice that more work follows, even when
+ * the same process goes on; PriorityScheduler pays one before every dispatch,
+ * the first included, and re-checks at the end of it, so a process that arrived
+ * or aged past the candidate meanwhile takes the CPU; SJFScheduler lets a
+ * shorter process that arrived during the switch take over after one unit.
+ * With contextSwitch = 0 one core gives the single-CPU engines' results.
+ *
+ * One ExecutionListener per core (ExecutionTrace by default), since runs on
+ * different cores overlap in time.
+ */
+public class MultiCoreScheduler implements Scheduler {
+
+    public enum Policy { SJF, RR, PRIORITY }
+
+    private static final int NONE = Integer.MIN_VALUE;
+
+    private final Policy policy;
+    private final int cores;
+    private final int contextSwitch;
+    private final int migrationCost;
+    private final int quantum;
+    private final int agingInterval;
+    private final ExecutionListener[] listeners;
+    private ProcessTable table;
+    private ArrivalFeed feed;
+
+    // per process
+    private int[] rank;       // the tie-break of every queue: (arrival, id) order, (arrival, name) for SJF
+    private int[] idOfRank;   // SJF heap entries carry the rank
+    private int[] lastCore;   // core it last ran on, -1 before its first dispatch
+    private int[] agingBase;  // PRIORITY: time at which its wait counter was last 0
+
+    // per core
+    private LongMinHeap[] sjfQueue;         // remaining time in the high half, rank in the low half
+    private IntDeque[] rrQueue;
+    private ReadyQueue[] priorityQueue;
+    private AgingQueue[] agingQueue;        // ready processes keyed by the time of their next aging step
+    private AgingQueue.Priorities[] priorities; // what aging changes: table priority and place in the core's queue
+    private int[] queued;
+    private int[] running;
+    private int[] runFrom;    // when the running process starts (or started) to execute; after the switch
+    private int[] sliceEnd;   // RR: end of the running slice
+    private int[] prev;       // process the core last ran
+    private int[] idleSince;  // NONE while the core has work
+    private long[] busy;      // time spent running processes
+    private long[] switching; // time spent in context switches and migrations
+    private int time;
+    private int migrations;
+    private int steals;
+
+    public MultiCoreScheduler(Policy policy, int cores, int contextSwitch, int migrationCost, int quantum,
+                              int agingInterval) {
+        if (cores < 1) throw new IllegalArgumentException("cores must be at least 1: " + cores);
+        if (policy == Policy.RR && quantum < 1) throw new IllegalArgumentException("RR quantum must be at least 1: " + quantum);
+        this.policy = policy;
+        this.cores = cores;
+        this.contextSwitch = contextSwitch;
+        this.migrationCost = migrationCost;
+        this.quantum = quantum;
+        this.agingInterval = agingInterval;
+        this.listeners = new ExecutionListener[cores];
+        for (int c = 0; c < cores; c++) listeners[c] = new ExecutionTrace();
+    }
+
+    /**
+     * Every core reports to this listener. Each core's dispatch is still followed
+     * by its own preemption or completion, but the cores' events interleave, so on
+     * several cores it should be a sink that keeps totals (CountingExecutionListener);
+     * for one trace per core use setExecutionListener(core, listener).
+     */
+    @Override
+    public void setExecutionListener(ExecutionListener listener) {
+        Arrays.fill(listeners, listener);
+    }
+
+    public void setExecutionListener(int core, ExecutionListener listener) {
+        listeners[core] = listener;
+    }
+
+    @Override
+    public void schedule(List<Process> processes) {
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
+
+    @Override
+    public void schedule(ProcessTable table) {
+        this.table = table;
+        this.feed = new ArrivalFeed(table);
+        prepare(table.size());
+        run();
+    }
+
+    private void prepare(int n) {
+        int capacity = Math.max(16, n);
+        rank = new int[capacity];
+        idOfRank = new int[capacity];
+        lastCore = new int[capacity];
+        Arrays.fill(lastCore, -1);
+        agingBase = new int[capacity];
+
+        sjfQueue = new LongMinHeap[cores];
+        rrQueue = new IntDeque[cores];
+        priorityQueue = new ReadyQueue[cores];
+        agingQueue = new AgingQueue[cores];
+        priorities = new AgingQueue.Priorities[cores];
+        for (int c = 0; c < cores; c++) {
+            switch (policy) {
+                case SJF -> sjfQueue[c] = new LongMinHeap();
+                case RR -> rrQueue[c] = new IntDeque();
+                case PRIORITY -> {
+                    priorityQueue[c] = new HeapReadyQueue(capacity, rank);
+                    agingQueue[c] = new AgingQueue(capacity, agingInterval);
+                    ReadyQueue queue = priorityQueue[c];
+                    priorities[c] = new AgingQueue.Priorities() {
+                        @Override
+                        public int get(int id) {
+                            return table.getPriority(id);
+                        }
+
+                        @Override
+                        public void set(int id, int priority) {
+                            table.setPriority(id, priority);
+                            queue.changePriority(id, priority);
+                        }
+                    };
+                }
+            }
+        }
+        queued = new int[cores];
+        running = new int[cores];
+        Arrays.fill(running, -1);
+        runFrom = new int[cores];
+        sliceEnd = new int[cores];
+        prev = new int[cores];
+        Arrays.fill(prev, -1);
+        busy = new long[cores];
+        switching = new long[cores];
+        migrations = 0;
+        steals = 0;
+        time = feed.hasNext() ? Math.min(0, feed.peekArrival()) : 0;
+        idleSince = new int[cores];
+        Arrays.fill(idleSince, time);
+    }
+
+    private void run() {
+        int admitted = 0;
+        int from = time; // start of the interval just simulated, if any core ran in it
+        while (true) {
+            // 1. run every core up to now and retire what finished (a zero burst as soon as it is dispatched)
+            for (int c = 0; c < cores; c++) {
+                int id = running[c];
+                if (id == -1 || runFrom[c] > time) continue;
+                table.setRemainingTime(id, table.getRemainingTime(id) - (time - runFrom[c]));
+                busy[c] += time - runFrom[c];
+                runFrom[c] = time;
+                if (table.getRemainingTime(id) <= 0) {
+                    table.setFinished(id, true);
+                    table.setCompletionTime(id, time);
+                    listeners[c].onComplete(id, time);
+                    leave(c, time);
+                }
+            }
+
+            // 2. arrivals go to the least loaded core; as in PriorityScheduler, one that comes
+            //    while a core is running counts as waiting from the tick it arrives on
+            int first = admitted;
+            while (feed.hasNext() && feed.peekArrival() <= time) {
+                idOfRank[admitted++] = feed.poll();
+            }
+            if (policy == Policy.SJF) SJFScheduler.sortByArrivalAndName(idOfRank, first, admitted, table);
+            for (int r = first; r < admitted; r++) {
+                int id = idOfRank[r];
+                rank[id] = r;
+                enqueue(leastLoaded(), id, Math.max(from, table.getArrivalTime(id) - 1));
+            }
+
+            // 3. expired RR slices go to the back of their core's queue (after the arrivals, as in RRScheduler)
+            if (policy == Policy.RR) {
+                for (int c = 0; c < cores; c++) {
+                    int id = running[c];
+                    if (id != -1 && time >= sliceEnd[c]) {
+                        listeners[c].onPreempt(id, time);
+                        leave(c, time);
+                        enqueue(c, id, time);
+                    }
+                }
+            }
+
+            // 4. aging and preemption from the core's own queue
+            for (int c = 0; c < cores; c++) {
+                if (policy == Policy.PRIORITY) agingQueue[c].ageUpTo(time, priorities[c]);
+                int id = running[c];
+                if (id != -1 && runFrom[c] <= time && headBeats(c, id)) {
+                    listeners[c].onPreempt(id, time);
+                    leave(c, time);
+                    enqueue(c, id, time);
+                }
+            }
+
+            // 5. free cores take their own next process, then steal
+            for (int c = 0; c < cores; c++) {
+                if (running[c] == -1 && queued[c] > 0) dispatch(c, poll(c), time);
+            }
+            for (int c = 0; c < cores; c++) {
+                if (running[c] != -1) continue;
+                int victim = longestQueue();
+                if (victim == -1) break;
+                steals++;
+                dispatch(c, poll(victim), time);
+            }
+
+            // 6. next event: an arrival, a completion, the end of a slice or an aging step
+            long next = Long.MAX_VALUE;
+            if (feed.hasNext()) next = feed.peekArrival();
+            for (int c = 0; c < cores; c++) {
+                int id = running[c];
+                if (id == -1) continue;
+                next = Math.min(next, (long) runFrom[c] + table.getRemainingTime(id));
+                if (policy == Policy.RR) next = Math.min(next, sliceEnd[c]);
+                if (policy == Policy.PRIORITY && !agingQueue[c].isEmpty()) {
+                    next = Math.min(next, Math.max(agingQueue[c].peekKey(), runFrom[c]));
+                }
+            }
+            if (next == Long.MAX_VALUE) break;
+            boolean anyRunning = false;
+            for (int c = 0; c < cores; c++) anyRunning |= running[c] != -1;
+            from = anyRunning ? time : (int) next; // all idle: nothing happens until the next arrival
+            time = (int) Math.max(next, time);
+        }
+        for (int c = 0; c < cores; c++) listeners[c].onFinish();
+    }
+
+    private void leave(int c, int time) {
+        prev[c] = running[c];
+        running[c] = -1;
+        idleSince[c] = time;
+    }
+
+    private void dispatch(int c, int id, int time) {
+        int cost = 0;
+        if (lastCore[id] != -1 && lastCore[id] != c) {
+            cost = migrationCost;
+            migrations++;
+        } else if (prev[c] != -1 && prev[c] != id) {
+            cost = contextSwitch;
+        }
+        if (idleSince[c] != NONE && idleSince[c] < time) listeners[c].onIdle(idleSince[c], time);
+        idleSince[c] = NONE;
+        switching[c] += cost;
+
+        if (policy == Policy.PRIORITY && agingInterval > 0) {
+            table.setWaitCounter(id, (time - agingBase[id]) % agingInterval);
+        }
+        running[c] = id;
+        lastCore[id] = c;
+        runFrom[c] = time + cost;
+        sliceEnd[c] = runFrom[c] + Math.min(quantum, table.getRemainingTime(id));
+        listeners[c].onDispatch(id, runFrom[c]);
+    }
+
+    // waitingSince: from when it counts as waiting (PRIORITY aging)
+    private void enqueue(int c, int id, int waitingSince) {
+        queued[c]++;
+        switch (policy) {
+            case SJF -> sjfQueue[c].add(sjfKey(id));
+            case RR -> rrQueue[c].pushBack(id);
+            case PRIORITY -> {
+                // the wait counter resumes where it stopped
+                agingBase[id] = waitingSince - table.getWaitCounter(id);
+                priorityQueue[c].add(id, table.getPriority(id));
+                if (agingInterval > 0 && table.getPriority(id) != 1) {
+                    agingQueue[c].insert(id, (long) agingBase[id] + agingInterval);
+                }
+            }
+        }
+    }
+
+    private int poll(int c) {
+        queued[c]--;
+        switch (policy) {
+            case SJF:
+                return idOfRank[(int) sjfQueue[c].poll()];
+            case RR:
+                return rrQueue[c].pollFirst();
+            default:
+                int id = priorityQueue[c].poll();
+                if (agingQueue[c].contains(id)) agingQueue[c].remove(id);
+                return id;
+        }
+    }
+
+    private boolean headBeats(int c, int id) {
+        if (queued[c] == 0) return false;
+        return switch (policy) {
+            case SJF -> (sjfQueue[c].peek() >> 32) < table.getRemainingTime(id);
+            case RR -> false;
+            case PRIORITY -> priorityQueue[c].headBeats(id, table.getPriority(id));
+        };
+    }
+
+    private int leastLoaded() {
+        int best = 0;
+        int bestLoad = Integer.MAX_VALUE;
+        for (int c = 0; c < cores; c++) {
+            int load = queued[c] + (running[c] != -1 ? 1 : 0);
+            if (load < bestLoad) {
+                best = c;
+                bestLoad = load;
+            }
+        }
+        return best;
+    }
+
+    private int longestQueue() {
+        int best = -1;
+        for (int c = 0; c < cores; c++) {
+            if (queued[c] > 0 && (best == -1 || queued[c] > queued[best])) best = c;
+        }
+        return best;
+    }
+
+    private long sjfKey(int id) {
+        return ((long) table.getRemainingTime(id) << 32) | rank[id];
+    }
+
+    // ================= Results =================
+
+    public int getCores() {
+        return cores;
+    }
+
+    public int getMakespan() {
+        int end = 0;
+        for (int id = 0; id < table.size(); id++) end = Math.max(end, table.getCompletionTime(id));
+        return end;
+    }
+
+    /** Share of the makespan core c spent running processes (switches not included). */
+    public double getUtilization(int core) {
+        int makespan = getMakespan();
+        return makespan == 0 ? 0 : (double) busy[core] / makespan;
+    }
+
+    public long getBusyTime(int core) {
+        return busy[core];
+    }
+
+    public long getSwitchTime(int core) {
+        return switching[core];
+    }
+
+    /** Busiest core's run time over the mean, minus 1: 0 is perfectly even, 1 means twice the mean. */
+    public double getLoadImbalance() {
+        long max = 0;
+        long total = 0;
+        for (int c = 0; c < cores; c++) {
+            max = Math.max(max, busy[c]);
+            total += busy[c];
+        }
+        return total == 0 ? 0 : (double) max * cores / total - 1;
+    }
+
+    public int getMigrations() {
+        return migrations;
+    }
+
+    public int getSteals() {
+        return steals;
+    }
+
+    @Override
+    public void printExecutionOrder() {
+        System.out.println("Execution Order:");
+        for (int c = 0; c < cores; c++) {
+            TraceReader records = listeners[c].reader();
+            if (records == null) {
+                System.out.println("Core " + c + ": not recorded (" + listeners[c] + ")");
+                continue;
+            }
+            System.out.print("Core " + c + ": [");
+            records.render(table, ", ", false, System.out);
+            System.out.println("]");
+        }
+    }
+
+    @Override
+    public void printWaitingTime() {
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + " Waiting Time = " + table.getWaitingTime(id));
+        }
+    }
+
+    @Override
+    public void printTurnaroundTime() {
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + " Turnaround Time = " + table.getTurnaroundTime(id));
+        }
+    }
+
+    public void printCoreStats() {
+        System.out.printf("%-6s %10s %10s %12s%n", "Core", "Busy", "Switching", "Utilization");
+        for (int c = 0; c < cores; c++) {
+            System.out.printf("%-6d %10d %10d %11.1f%%%n", c, busy[c], switching[c], 100 * getUtilization(c));
+        }
+        System.out.printf("Load imbalance = %.3f, migrations = %d, steals = %d%n", getLoadImbalance(), migrations, steals);
+    }
+
+    @Override
+    public double getAverageWaitingTime() {
+        return table.getAverageWaitingTime();
+    }
+
+    @Override
+    public double getAverageTurnaroundTime() {
+        return table.getAverageTurnaroundTime();
+    }
+
+    /**
+     * Every policy on the same workload for a given core count.
+     * Usage: java MultiCoreScheduler workload.json [cores=4] [migration=cost]
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java MultiCoreScheduler workload.json [cores=4] [migration=cost]");
+            return;
+        }
+
+        Workload workload;
+        int contextSwitch;
+        int rrQuantum;
+        int agingInterval;
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(Path.of(args[0]))) {
+            workload = reader.readTable().getWorkload();
+            contextSwitch = reader.getContextSwitch();
+            rrQuantum = reader.getRrQuantum();
+            agingInterval = reader.getAgingInterval();
+        }
+        int cores = 4;
+        int migration = contextSwitch;
+        for (int i = 1; i < args.length; i++) {
+            String[] kv = args[i].split("=", 2);
+            switch (kv[0]) {
+                case "cores" -> cores = Integer.parseInt(kv[1]);
+                case "migration" -> migration = Integer.parseInt(kv[1]);
+                default -> throw new IllegalArgumentException("unknown parameter: " + kv[0]);
+            }
+        }
+
+        for (Policy policy : Policy.values()) {
+            MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, cores, contextSwitch, migration,
+                    rrQuantum, agingInterval);
+            scheduler.schedule(new ProcessTable(workload));
+            System.out.println("==============================================");
+            System.out.println(policy + " on " + cores + (cores == 1 ? " core" : " cores"));
+            System.out.println("==============================================");
+            System.out.printf("Average Waiting Time = %.2f%n", scheduler.getAverageWaitingTime());
+            System.out.printf("Average Turnaround Time = %.2f%n", scheduler.getAverageTurnaroundTime());
+            System.out.println("Makespan = " + scheduler.getMakespan());
+            scheduler.printCoreStats();
+            System.out.println();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/**
+ * Drives an engine from a live feed of submissions instead of a complete
+ * process list, e.g. to use a policy as an admission controller.
+ *
+ * Producers call submit() from any number of threads; one scheduling thread
+ * calls advanceTo() and finish(). advanceTo(t) promises that every process
+ * arriving before t has been submitted: the engine takes every decision that
+ * can no longer change and stops where an arrival at t or later still could.
+ * A process submitted late (arriving before the last watermark) is taken to
+ * arrive at that watermark.
+ *
+ * Dispatches, preemptions and completions reach the ExecutionListener as soon
+ * as they are decided. Per-process results are in getTable(); ids follow the
+ * order the submissions were taken in.
+ */
+public interface OnlineScheduler {
+
+    // Thread-safe; only the definition (name, arrival, burst, priority, quantum) is used
+    void submit(Process process);
+
+    // Scheduling thread: everything arriving before time has been submitted
+    void advanceTo(int time);
+
+    // Scheduling thread: no more submissions; runs what is left to completion
+    void finish();
+
+    void setExecutionListener(ExecutionListener listener);
+
+    // The run so far; null before the first advanceTo
+    ProcessTable getTable();
+}
@@ -0,0 +1,239 @@
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Tries every combination of scheduler parameters on one workload and reports
+ * the average waiting and turnaround time and the number of dispatches of each,
+ * marking the Pareto-optimal ones for waiting time against dispatches (no other
+ * point is at least as good in both and better in one). Turnaround is not an
+ * objective of its own: it is waiting time plus the same mean burst everywhere.
+ *
+ * RR is swept over contextSwitch x rrQuantum, PRIORITY over contextSwitch x
+ * agingInterval and AG over the quantum every process starts with (AG has no
+ * context-switch cost). The points are split across a fork-join pool; all of
+ * them share the immutable Workload and each leaf task reuses one ProcessTable.
+ *
+ * Usage: java ParameterSweep workload.json|workload.bin [cs=lo:hi[:step]] [q=..] [aging=..] [agq=..]
+ * (a missing range means the single value from the file; agq defaults to the file's own quanta)
+ */
+public class ParameterSweep {
+
+    // Points per leaf task; one run is cheap, so leaves batch several
+    private static final int LEAF_POINTS = 4;
+
+    public static class Point {
+        private final String algorithm;
+        private final int contextSwitch;
+        private final int rrQuantum;
+        private final int agingInterval;
+        private final int agQuantum; // 0 = the workload's own quanta
+        private double averageWaitingTime;
+        private double averageTurnaroundTime;
+        private long dispatches; // every dispatch is a context switch (or the first start)
+        private boolean pareto;
+
+        Point(String algorithm, int contextSwitch, int rrQuantum, int agingInterval, int agQuantum) {
+            this.algorithm = algorithm;
+            this.contextSwitch = contextSwitch;
+            this.rrQuantum = rrQuantum;
+            this.agingInterval = agingInterval;
+            this.agQuantum = agQuantum;
+        }
+
+        public String getAlgorithm() {
+            return algorithm;
+        }
+
+        public double getAverageWaitingTime() {
+            return averageWaitingTime;
+        }
+
+        public double getAverageTurnaroundTime() {
+            return averageTurnaroundTime;
+        }
+
+        public long getDispatches() {
+            return dispatches;
+        }
+
+        public boolean isPareto() {
+            return pareto;
+        }
+
+        public String getParameters() {
+            switch (algorithm) {
+                case "RR":
+                    return "contextSwitch=" + contextSwitch + " rrQuantum=" + rrQuantum;
+                case "PRIORITY":
+                    return "contextSwitch=" + contextSwitch + " agingInterval=" + agingInterval;
+                default:
+                    return agQuantum > 0 ? "quantum=" + agQuantum : "quantum=input";
+            }
+        }
+
+        Scheduler createScheduler() {
+            switch (algorithm) {
+                case "RR":
+                    return new RRScheduler(contextSwitch, rrQuantum);
+                case "PRIORITY":
+                    return new PriorityScheduler(contextSwitch, agingInterval);
+                default:
+                    return new AGScheduler();
+            }
+        }
+    }
+
+    private final Workload workload;
+
+    public ParameterSweep(Workload workload) {
+        this.workload = workload;
+    }
+
+    /** Every point of the grid, RR first, then PRIORITY, then AG. */
+    public static List<Point> grid(int[] contextSwitches, int[] rrQuanta, int[] agingIntervals, int[] agQuanta) {
+        List<Point> points = new ArrayList<>();
+        for (int cs : contextSwitches)
+            for (int q : rrQuanta)
+                if (q > 0) points.add(new Point("RR", cs, q, 0, 0)); // RR makes no progress with q = 0
+        for (int cs : contextSwitches)
+            for (int aging : agingIntervals)
+                points.add(new Point("PRIORITY", cs, 0, aging, 0));
+        for (int q : agQuanta)
+            points.add(new Point("AG", 0, 0, 0, q));
+        return points;
+    }
+
+    /** Runs all points on the given pool, then marks the Pareto front. Results land in the points. */
+    public void run(List<Point> points, ForkJoinPool pool) {
+        pool.invoke(new Sweep(points, 0, points.size()));
+        markParetoFront(points);
+    }
+
+    @SuppressWarnings("serial")
+    private class Sweep extends RecursiveAction {
+        private final List<Point> points;
+        private final int from;
+        private final int to;
+
+        Sweep(List<Point> points, int from, int to) {
+            this.points = points;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_POINTS) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Sweep(points, from, mid), new Sweep(points, mid, to));
+                return;
+            }
+            ProcessTable table = new ProcessTable(workload);
+            for (int i = from; i < to; i++) {
+                Point point = points.get(i);
+                table.reset();
+                if (point.agQuantum > 0) {
+                    for (int id = 0; id < table.size(); id++) table.setQuantum(id, point.agQuantum);
+                }
+                Scheduler scheduler = point.createScheduler();
+                CountingExecutionListener counts = new CountingExecutionListener(); // nothing to print
+                scheduler.setExecutionListener(counts);
+                scheduler.schedule(table);
+                point.averageWaitingTime = table.getAverageWaitingTime();
+                point.averageTurnaroundTime = table.getAverageTurnaroundTime();
+                point.dispatches = counts.getDispatches();
+            }
+        }
+    }
+
+    // Sorted by waiting time, a point is on the front if it dispatches less than every point before it
+    static void markParetoFront(List<Point> points) {
+        List<Point> sorted = new ArrayList<>(points);
+        sorted.sort(Comparator.comparingDouble(Point::getAverageWaitingTime)
+                .thenComparingLong(Point::getDispatches));
+        long bestDispatches = Long.MAX_VALUE;
+        Point previous = null;
+        for (Point p : sorted) {
+            boolean tiesPrevious = previous != null && previous.pareto
+                    && p.averageWaitingTime == previous.averageWaitingTime
+                    && p.dispatches == previous.dispatches;
+            p.pareto = p.dispatches < bestDispatches || tiesPrevious;
+            bestDispatches = Math.min(bestDispatches, p.dispatches);
+            previous = p;
+        }
+    }
+
+    /** "5", "1:10" or "1:10:2" (inclusive). */
+    static int[] range(String spec) {
+        String[] parts = spec.split(":");
+        int lo = Integer.parseInt(parts[0]);
+        int hi = parts.length > 1 ? Integer.parseInt(parts[1]) : lo;
+        int step = parts.length > 2 ? Integer.parseInt(parts[2]) : 1;
+        if (step <= 0 || hi < lo) throw new IllegalArgumentException("bad range: " + spec);
+        int[] values = new int[(hi - lo) / step + 1];
+        for (int i = 0; i < values.length; i++) values[i] = lo + i * step;
+        return values;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java ParameterSweep workload.json|workload.bin [cs=lo:hi[:step]] [q=..] [aging=..] [agq=..]");
+            return;
+        }
+
+        Workload workload;
+        int[] cs;
+        int[] q;
+        int[] aging;
+        int[] agq = {0};
+        if (args[0].endsWith(".bin")) {
+            BinaryWorkload binary = BinaryWorkload.open(Path.of(args[0]));
+            workload = binary.toWorkload();
+            cs = new int[]{binary.getContextSwitch()};
+            q = new int[]{binary.getRrQuantum()};
+            aging = new int[]{binary.getAgingInterval()};
+        } else {
+            try (JsonWorkloadReader reader = new JsonWorkloadReader(Path.of(args[0]))) {
+                workload = reader.readTable().getWorkload();
+                cs = new int[]{reader.getContextSwitch()};
+                q = new int[]{reader.getRrQuantum()};
+                aging = new int[]{reader.getAgingInterval()};
+            }
+        }
+        for (int i = 1; i < args.length; i++) {
+            String[] kv = args[i].split("=", 2);
+            switch (kv[0]) {
+                case "cs" -> cs = range(kv[1]);
+                case "q" -> q = range(kv[1]);
+                case "aging" -> aging = range(kv[1]);
+                case "agq" -> agq = range(kv[1]);
+                default -> throw new IllegalArgumentException("unknown parameter: " + kv[0]);
+            }
+        }
+
+        List<Point> points = grid(cs, q, aging, agq);
+        long start = System.nanoTime();
+        new ParameterSweep(workload).run(points, ForkJoinPool.commonPool());
+        long nanos = System.nanoTime() - start;
+
+        System.out.printf("%-10s %-36s %12s %12s %12s%n", "Scheduler", "Parameters", "Avg Waiting", "Avg TAT",
+                "Dispatches");
+        for (Point p : points) {
+            System.out.printf("%-10s %-36s %12.2f %12.2f %12d%s%n", p.getAlgorithm(), p.getParameters(),
+                    p.getAverageWaitingTime(), p.getAverageTurnaroundTime(), p.getDispatches(),
+                    p.isPareto() ? "  *" : "");
+        }
+        System.out.println();
+        System.out.println("Pareto-optimal (avg waiting vs dispatches):");
+        for (Point p : points) {
+            if (p.isPareto()) {
+                System.out.printf("%-10s %-36s %12.2f %12.2f %12d%n", p.getAlgorithm(), p.getParameters(),
+                        p.getAverageWaitingTime(), p.getAverageTurnaroundTime(), p.getDispatches());
+            }
+        }
+        System.out.printf("%n%,d configurations in %.2f s%n", points.size(), nanos / 1e9);
+    }
+}
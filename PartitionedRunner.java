@@ -0,0 +1,283 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Runs every scheduler on many independent workload partitions (tenants that
+ * never share a CPU) in parallel on a fork-join pool. A partition is a binary
+ * workload file, a test-case JSON file, or one test case of a JSON file that
+ * holds an array of them.
+ *
+ * Files are split over the pool. The task for a file reads its partitions one
+ * after the other and forks a simulation for each: every Scheduler (SJF, RR,
+ * PRIORITY, AG and PREEMPTIVE, the PriorityPreemptive engine, which has no
+ * context switch cost) with the partition's own parameters (one ProcessTable,
+ * reset between runs), keeping only the sums of waiting and turnaround time. A reader stays at most
+ * one partition per pool thread ahead of the simulations it forked, and a
+ * table is dropped once simulated, so only a bounded number of partitions is
+ * in memory. The sums are added up the task tree into the global averages,
+ * which weigh every process the same whatever tenant it belongs to.
+ *
+ * Tenants are named after the file, extension included, plus "[i]" for the
+ * i-th test case of an array file; two partition files with the same name
+ * are rejected.
+ *
+ * Usage: java PartitionedRunner dir|file.json|file.bin ...
+ * (a directory stands for its .json and .bin files, in name order)
+ */
+public class PartitionedRunner {
+
+    public static final String[] SCHEDULERS = {"SJF", "RR", "PRIORITY", "AG", "PREEMPTIVE"};
+
+    // Sums over a set of processes, per scheduler; averages are only taken when asked for
+    public static class Totals {
+        private long processes;
+        private final long[] waiting = new long[SCHEDULERS.length];
+        private final long[] turnaround = new long[SCHEDULERS.length];
+
+        void add(Totals other) {
+            processes += other.processes;
+            for (int s = 0; s < SCHEDULERS.length; s++) {
+                waiting[s] += other.waiting[s];
+                turnaround[s] += other.turnaround[s];
+            }
+        }
+
+        public long getProcesses() {
+            return processes;
+        }
+
+        public double getAverageWaitingTime(int scheduler) {
+            return processes == 0 ? 0 : (double) waiting[scheduler] / processes;
+        }
+
+        public double getAverageTurnaroundTime(int scheduler) {
+            return processes == 0 ? 0 : (double) turnaround[scheduler] / processes;
+        }
+    }
+
+    public static class Tenant {
+        private final String name;
+        private final Totals totals;
+
+        Tenant(String name, Totals totals) {
+            this.name = name;
+            this.totals = totals;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Totals getTotals() {
+            return totals;
+        }
+    }
+
+    private final List<Path> files;
+    private final Tenant[][] tenants; // per file, in the order the file holds them
+    private int parallelism; // of the pool run was given
+
+    public PartitionedRunner(List<Path> files) {
+        Set<String> names = new HashSet<>();
+        for (Path file : files) {
+            if (!names.add(file.getFileName().toString())) {
+                throw new IllegalArgumentException("two partition files named " + file.getFileName());
+            }
+        }
+        this.files = List.copyOf(files);
+        this.tenants = new Tenant[files.size()][];
+    }
+
+    /** Simulates every partition on the given pool; returns the global totals. */
+    public Totals run(ForkJoinPool pool) {
+        // not getPool() in the tasks: the common pool may run them in the calling thread
+        parallelism = pool.getParallelism();
+        return pool.invoke(new Partitions(0, files.size()));
+    }
+
+    /** Per-tenant results in the order the files (and the test cases in them) were given; filled by run. */
+    public List<Tenant> getTenants() {
+        List<Tenant> all = new ArrayList<>();
+        for (Tenant[] ofFile : tenants) {
+            if (ofFile != null) all.addAll(Arrays.asList(ofFile));
+        }
+        return all;
+    }
+
+    @SuppressWarnings("serial")
+    private class Partitions extends RecursiveTask<Totals> {
+        private final int from;
+        private final int to;
+
+        Partitions(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                Partitions right = new Partitions(mid, to);
+                right.fork();
+                Totals totals = new Totals(); // a leaf's own totals stay its tenant's
+                totals.add(new Partitions(from, mid).compute());
+                totals.add(right.join());
+                return totals;
+            }
+            Totals totals = new Totals();
+            if (from == to) return totals;
+            Path file = files.get(from);
+            String name = file.getFileName().toString();
+            List<Tenant> found = new ArrayList<>();
+            try {
+                if (name.endsWith(".bin")) {
+                    BinaryWorkload binary = BinaryWorkload.open(file);
+                    Totals tenant = simulate(new ProcessTable(binary.toWorkload()), binary.getContextSwitch(),
+                            binary.getRrQuantum(), binary.getAgingInterval());
+                    found.add(new Tenant(name, tenant));
+                } else {
+                    readJson(file, name, found);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("partition " + file, e);
+            }
+            for (Tenant tenant : found) totals.add(tenant.getTotals());
+            tenants[from] = found.toArray(new Tenant[0]);
+            return totals;
+        }
+
+        // Forks one simulation per test case, staying at most one per pool thread ahead of them
+        private void readJson(Path file, String name, List<Tenant> found) throws IOException {
+            ArrayDeque<Simulation> running = new ArrayDeque<>();
+            int ahead = parallelism;
+            try (JsonWorkloadReader reader = new JsonWorkloadReader(file)) {
+                do {
+                    ProcessTable table = reader.readTable();
+                    int index = reader.getWorkloadIndex();
+                    Simulation simulation = new Simulation(index < 0 ? name : name + "[" + index + "]", table,
+                            reader.getContextSwitch(), reader.getRrQuantum(), reader.getAgingInterval());
+                    simulation.fork();
+                    running.add(simulation);
+                    if (running.size() > ahead) found.add(running.remove().result());
+                } while (reader.nextWorkload());
+            } finally {
+                while (!running.isEmpty()) found.add(running.remove().result());
+            }
+        }
+    }
+
+    @SuppressWarnings("serial")
+    private static class Simulation extends RecursiveTask<Totals> {
+        private final String name;
+        private ProcessTable table; // dropped once simulated
+        private final int contextSwitch;
+        private final int rrQuantum;
+        private final int agingInterval;
+
+        Simulation(String name, ProcessTable table, int contextSwitch, int rrQuantum, int agingInterval) {
+            this.name = name;
+            this.table = table;
+            this.contextSwitch = contextSwitch;
+            this.rrQuantum = rrQuantum;
+            this.agingInterval = agingInterval;
+        }
+
+        @Override
+        protected Totals compute() {
+            ProcessTable run = table;
+            table = null;
+            return simulate(run, contextSwitch, rrQuantum, agingInterval);
+        }
+
+        Tenant result() {
+            return new Tenant(name, join());
+        }
+    }
+
+    private static Totals simulate(ProcessTable table, int contextSwitch, int rrQuantum, int agingInterval) {
+        Totals totals = new Totals();
+        totals.processes = table.size();
+        for (int s = 0; s < SCHEDULERS.length; s++) {
+            table.reset();
+            Scheduler scheduler = createScheduler(SCHEDULERS[s], contextSwitch, rrQuantum, agingInterval);
+            scheduler.setExecutionListener(new CountingExecutionListener()); // nothing to print
+            scheduler.schedule(table);
+            for (int id = 0; id < table.size(); id++) {
+                totals.waiting[s] += table.getWaitingTime(id);
+                totals.turnaround[s] += table.getTurnaroundTime(id);
+            }
+        }
+        return totals;
+    }
+
+    // Same constructors as Main2
+    private static Scheduler createScheduler(String type, int contextSwitch, int rrQuantum, int agingInterval) {
+        switch (type) {
+            case "SJF":
+                return new SJFScheduler(contextSwitch);
+            case "RR":
+                return new RRScheduler(contextSwitch, rrQuantum);
+            case "PRIORITY":
+                return new PriorityScheduler(contextSwitch, agingInterval);
+            case "AG":
+                return new AGScheduler(contextSwitch);
+            default:
+                return new PriorityPreemptive(agingInterval);
+        }
+    }
+
+    /** Expands directories into their .json and .bin files, sorted by name. */
+    static List<Path> partitionFiles(String[] args) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (String arg : args) {
+            Path path = Path.of(arg);
+            if (Files.isDirectory(path)) {
+                try (Stream<Path> listing = Files.list(path)) {
+                    listing.filter(p -> p.toString().endsWith(".json") || p.toString().endsWith(".bin"))
+                            .sorted()
+                            .forEach(files::add);
+                }
+            } else {
+                files.add(path);
+            }
+        }
+        return files;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java PartitionedRunner dir|file.json|file.bin ...");
+            return;
+        }
+
+        PartitionedRunner runner = new PartitionedRunner(partitionFiles(args));
+        long start = System.nanoTime();
+        Totals global = runner.run(ForkJoinPool.commonPool());
+        long nanos = System.nanoTime() - start;
+
+        StringBuilder header = new StringBuilder(String.format("%-20s %10s", "Tenant", "Processes"));
+        for (String s : SCHEDULERS) header.append(String.format(" %15s %15s", s + " Wait", s + " TAT"));
+        System.out.println(header);
+        for (Tenant tenant : runner.getTenants()) {
+            printRow(tenant.getName(), tenant.getTotals());
+        }
+        printRow("GLOBAL", global);
+        System.out.printf("%n%,d partitions in %,d files, %,d processes in %.2f s%n", runner.getTenants().size(),
+                runner.files.size(), global.getProcesses(), nanos / 1e9);
+    }
+
+    private static void printRow(String name, Totals totals) {
+        StringBuilder row = new StringBuilder(String.format("%-20s %10d", name, totals.getProcesses()));
+        for (int s = 0; s < SCHEDULERS.length; s++) {
+            row.append(String.format(" %15.2f %15.2f", totals.getAverageWaitingTime(s), totals.getAverageTurnaroundTime(s)));
+        }
+        System.out.println(row);
+    }
+}
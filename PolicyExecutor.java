@@ -0,0 +1,468 @@
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Runs real work on N worker threads, picking what runs next with the
+ * policies the engines simulate:
+ *
+ *   SRTF      - shortest remaining time first, as in SJFScheduler
+ *   RR        - FIFO rotation every quantum, as in RRScheduler
+ *   PRIORITY  - lowest priority number first, aging towards 1 while waiting,
+ *               as in PriorityScheduler
+ *
+ * Preemption is cooperative: a SlicedTask does a bounded chunk of work per
+ * call, and once a task has used up a quantum the worker asks the policy
+ * whether a queued task should take over. A plain Runnable or Callable is one
+ * chunk, so it runs to the end once started.
+ *
+ * Bursts are measured, not declared: every chunk is timed, and SRTF ranks a
+ * task by its estimate minus the time it has really used. The estimate is the
+ * task's hint if it has one, otherwise an exponential average of the measured
+ * bursts of the tasks finished so far. A task that outruns its estimate is
+ * expected to run as long again as it already has, so it queues behind fresh
+ * short work instead of being taken for almost done.
+ * All times are System.nanoTime nanoseconds.
+ */
+public class PolicyExecutor extends AbstractExecutorService {
+
+    public enum Policy { SRTF, RR, PRIORITY }
+
+    /** Work that can be stopped between calls: each call does a bounded chunk; true once all of it is done. */
+    public interface SlicedTask {
+        boolean runSlice() throws Exception;
+    }
+
+    public static final int DEFAULT_PRIORITY = 5;
+    // weight of the latest measured burst in the SRTF estimate
+    private static final double ALPHA = 0.5;
+
+    private static final class Job {
+        final SlicedTask body;
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+        final boolean reportErrors; // execute(): nobody holds the future
+        final long seq;             // submission order, the tie-break everywhere
+        final long hint;            // declared burst, 0 if none
+        final long submitted;
+        int id;
+        int priority;
+        long used;        // measured run time so far
+        long waited;      // time spent in the ready queue
+        long readySince;
+        long agingBase;   // start of the current wait, less the wait carried over
+        long agingCarry;  // wait towards the next aging step left from earlier waits
+
+        Job(SlicedTask body, boolean reportErrors, long seq, int priority, long hint, long submitted) {
+            this.body = body;
+            this.reportErrors = reportErrors;
+            this.seq = seq;
+            this.priority = priority;
+            this.hint = hint;
+            this.submitted = submitted;
+        }
+    }
+
+    private final Policy policy;
+    private final long quantumNanos;
+    private final long agingNanos;
+    private final List<Thread> workers = new ArrayList<>();
+
+    // everything below is guarded by lock
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition ready = lock.newCondition();
+    private final Condition terminated = lock.newCondition();
+    private Job[] jobs = new Job[16];  // id -> job, ids are reused once a job is done
+    private final IntDeque freeIds = new IntDeque();
+    private int nextId;
+    private final IntDeque fifo = new IntDeque();                // RR
+    private final IndexedMinHeap byKey = new IndexedMinHeap(16);       // SRTF: remaining, PRIORITY: priority
+    private final AgingQueue agingQueue;                               // PRIORITY: time of the next aging step
+    // What an aging step changes: the job's priority and its place in byKey
+    private final AgingQueue.Priorities priorities = new AgingQueue.Priorities() {
+        @Override
+        public int get(int id) {
+            return jobs[id].priority;
+        }
+
+        @Override
+        public void set(int id, int priority) {
+            jobs[id].priority = priority;
+            byKey.changeKey(id, priority);
+        }
+    };
+    private int readyCount;
+    private long nextSeq;
+    private double burstEstimate;
+    private boolean shutdown;
+    private int liveWorkers;
+    private long completed;
+    private long totalWaiting;
+    private long totalTurnaround;
+
+    /**
+     * @param quantumNanos how long a task runs before the policy is asked again
+     * @param agingNanos   PRIORITY only: waiting this long lowers the priority number by 1 (0 = no aging)
+     */
+    public PolicyExecutor(Policy policy, int workers, long quantumNanos, long agingNanos) {
+        if (workers < 1 || quantumNanos < 1 || agingNanos < 0) {
+            throw new IllegalArgumentException("workers and quantum must be positive, aging not negative");
+        }
+        this.policy = policy;
+        this.quantumNanos = quantumNanos;
+        this.agingNanos = agingNanos;
+        this.agingQueue = new AgingQueue(16, agingNanos);
+        this.burstEstimate = quantumNanos;
+        this.liveWorkers = workers;
+        for (int i = 0; i < workers; i++) {
+            Thread worker = new Thread(this::work, "policy-" + policy.name().toLowerCase() + "-" + i);
+            worker.setDaemon(true);
+            this.workers.add(worker);
+            worker.start();
+        }
+    }
+
+    public CompletableFuture<Void> submitSliced(SlicedTask task) {
+        return submitSliced(task, DEFAULT_PRIORITY, 0);
+    }
+
+    /** @param burstHintNanos expected run time for SRTF, 0 to use the measured average */
+    public CompletableFuture<Void> submitSliced(SlicedTask task, int priority, long burstHintNanos) {
+        return enqueueNew(task, false, priority, burstHintNanos).future;
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Objects.requireNonNull(command);
+        enqueueNew(() -> {
+            command.run();
+            return true;
+        }, true, DEFAULT_PRIORITY, 0);
+    }
+
+    private Job enqueueNew(SlicedTask task, boolean reportErrors, int priority, long hint) {
+        Objects.requireNonNull(task);
+        lock.lock();
+        try {
+            if (shutdown) throw new RejectedExecutionException("executor is shut down");
+            long now = System.nanoTime();
+            Job job = new Job(task, reportErrors, nextSeq++, priority, Math.max(0, hint), now);
+            job.id = freeIds.isEmpty() ? nextId++ : freeIds.pollFirst();
+            if (job.id == jobs.length) {
+                jobs = Arrays.copyOf(jobs, jobs.length * 2);
+                byKey.grow(jobs.length);
+                agingQueue.grow(jobs.length);
+            }
+            jobs[job.id] = job;
+            enqueue(job, now);
+            return job;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ================= Workers =================
+
+    // Only shutdown stops a worker: an interrupt from cancel(true) or one a task left set is cleared,
+    // as ThreadPoolExecutor does. shutdownNow drains the queue before it interrupts, so the worker it
+    // interrupts finds nothing left to run.
+    private void work() {
+        try {
+            while (true) {
+                Job job;
+                lock.lock();
+                try {
+                    while (readyCount == 0 && !shutdown) {
+                        try {
+                            ready.await();
+                        } catch (InterruptedException e) {
+                            // stray interrupt; shutdown is checked again
+                        }
+                    }
+                    if (readyCount == 0) return; // shut down and drained
+                    job = pollNext(System.nanoTime());
+                    Thread.interrupted(); // shutdownNow cannot interrupt before this lock is released
+                } finally {
+                    lock.unlock();
+                }
+                run(job);
+                Thread.interrupted();
+            }
+        } finally {
+            lock.lock();
+            try {
+                if (--liveWorkers == 0) terminated.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // Runs chunks of one job until it finishes or the policy hands the CPU to another at a quantum boundary
+    private void run(Job job) {
+        long sliceStart = System.nanoTime();
+        while (true) {
+            boolean done;
+            long before = System.nanoTime();
+            try {
+                done = job.body.runSlice();
+            } catch (Throwable e) {
+                job.used += System.nanoTime() - before;
+                finish(job, e);
+                return;
+            }
+            long now = System.nanoTime();
+            job.used += now - before;
+            if (done) {
+                finish(job, null);
+                return;
+            }
+            if (now - sliceStart >= quantumNanos) {
+                lock.lock();
+                try {
+                    if (headBeats(job, now)) {
+                        enqueue(job, now);
+                        return;
+                    }
+                } finally {
+                    lock.unlock();
+                }
+                sliceStart = now;
+            }
+        }
+    }
+
+    private void finish(Job job, Throwable error) {
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            completed++;
+            totalWaiting += job.waited;
+            totalTurnaround += now - job.submitted;
+            if (error == null) burstEstimate = ALPHA * job.used + (1 - ALPHA) * burstEstimate;
+            jobs[job.id] = null;
+            freeIds.pushBack(job.id);
+        } finally {
+            lock.unlock();
+        }
+        if (error == null) {
+            job.future.complete(null);
+        } else {
+            job.future.completeExceptionally(error);
+            if (job.reportErrors) {
+                Thread thread = Thread.currentThread();
+                thread.getUncaughtExceptionHandler().uncaughtException(thread, error);
+            }
+        }
+    }
+
+    // ================= Ready queue (lock held) =================
+
+    private void enqueue(Job job, long now) {
+        job.readySince = now;
+        switch (policy) {
+            case RR -> fifo.pushBack(job.id);
+            case SRTF -> byKey.insert(job.id, remaining(job), job.seq);
+            case PRIORITY -> {
+                byKey.insert(job.id, job.priority, job.seq);
+                if (agingNanos > 0 && job.priority > 1) {
+                    // the wait towards the next step resumes where it stopped
+                    job.agingBase = now - job.agingCarry;
+                    agingQueue.insert(job.id, job.agingBase + agingNanos);
+                }
+            }
+        }
+        readyCount++;
+        ready.signal();
+    }
+
+    private Job pollNext(long now) {
+        int id;
+        if (policy == Policy.RR) {
+            id = fifo.pollFirst();
+        } else {
+            if (policy == Policy.PRIORITY) agingQueue.ageUpTo(now, priorities);
+            id = byKey.poll();
+        }
+        readyCount--;
+        Job job = jobs[id];
+        job.waited += now - job.readySince;
+        if (agingQueue.contains(id)) {
+            agingQueue.remove(id);
+            job.agingCarry = (now - job.agingBase) % agingNanos;
+        }
+        return job;
+    }
+
+    // True if a queued job should take the CPU from the running one
+    private boolean headBeats(Job running, long now) {
+        switch (policy) {
+            case RR:
+                return readyCount > 0;
+            case SRTF:
+                return readyCount > 0 && byKey.peekKey() < remaining(running);
+            default:
+                agingQueue.ageUpTo(now, priorities);
+                if (readyCount == 0) return false;
+                Job head = jobs[byKey.peek()];
+                return head.priority < running.priority
+                        || (head.priority == running.priority && head.seq < running.seq);
+        }
+    }
+
+    private long remaining(Job job) {
+        long estimate = Math.max(1, job.hint > 0 ? job.hint : (long) burstEstimate);
+        return job.used < estimate ? estimate - job.used : job.used;
+    }
+
+    // ================= Lifecycle =================
+
+    @Override
+    public void shutdown() {
+        lock.lock();
+        try {
+            shutdown = true;
+            ready.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Stops the workers; the jobs not started or preempted come back as Runnables that run the rest. */
+    @Override
+    public List<Runnable> shutdownNow() {
+        List<Runnable> left = new ArrayList<>();
+        lock.lock();
+        try {
+            shutdown = true;
+            while (readyCount > 0) {
+                Job job = pollNext(System.nanoTime());
+                left.add(() -> {
+                    try {
+                        while (!job.body.runSlice()) {
+                            // run the rest in the caller
+                        }
+                        job.future.complete(null);
+                    } catch (Throwable e) {
+                        job.future.completeExceptionally(e);
+                    }
+                });
+            }
+        } finally {
+            lock.unlock();
+        }
+        for (Thread worker : workers) worker.interrupt();
+        return left;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        lock.lock();
+        try {
+            return shutdown;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean isTerminated() {
+        lock.lock();
+        try {
+            return shutdown && liveWorkers == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        lock.lock();
+        try {
+            while (!(shutdown && liveWorkers == 0)) {
+                if (nanos <= 0) return false;
+                nanos = terminated.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // ================= Results =================
+
+    public long getCompletedTaskCount() {
+        lock.lock();
+        try {
+            return completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Mean time finished tasks spent in the ready queue, in nanoseconds. */
+    public double getAverageWaitingTime() {
+        lock.lock();
+        try {
+            return completed == 0 ? 0 : (double) totalWaiting / completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Mean time from submission to the end of finished tasks, in nanoseconds. */
+    public double getAverageTurnaroundTime() {
+        lock.lock();
+        try {
+            return completed == 0 ? 0 : (double) totalTurnaround / completed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Demo on a CPU-bound job pool: the same seeded mix of short and long jobs
+     * under each policy. Usage: java PolicyExecutor [workers] [jobs]
+     */
+    public static void main(String[] args) throws Exception {
+        int workers = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+
+        System.out.printf("%-10s %14s %14s %10s%n", "Policy", "Avg Wait ms", "Avg TAT ms", "Wall ms");
+        for (Policy policy : Policy.values()) {
+            Random random = new Random(42);
+            PolicyExecutor executor = new PolicyExecutor(policy, workers, 2_000_000, 20_000_000);
+            long start = System.nanoTime();
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                // mostly short jobs, a few long ones (units of ~0.1 ms of arithmetic)
+                int units = random.nextInt(10) == 0 ? 200 + random.nextInt(400) : 1 + random.nextInt(20);
+                futures.add(executor.submitSliced(new BusyJob(units), 1 + random.nextInt(10), 0));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+            long wall = System.nanoTime() - start;
+            executor.shutdown();
+            executor.awaitTermination(1, TimeUnit.MINUTES);
+            System.out.printf("%-10s %14.2f %14.2f %10.1f%n", policy, executor.getAverageWaitingTime() / 1e6,
+                    executor.getAverageTurnaroundTime() / 1e6, wall / 1e6);
+        }
+    }
+
+    private static final class BusyJob implements SlicedTask {
+        static volatile long sink;
+        private int units;
+
+        BusyJob(int units) {
+            this.units = units;
+        }
+
+        @Override
+        public boolean runSlice() {
+            long x = units;
+            for (int i = 0; i < 50_000; i++) x = x * 6364136223846793005L + 1442695040888963407L;
+            sink = x;
+            return --units == 0;
+        }
+    }
+}
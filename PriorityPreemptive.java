@@ -0,0 +1,218 @@
+import java.util.*;
+
+public class PriorityPreemptive implements Scheduler {
+
+    private static final int DEFAULT_AGING_INTERVAL = 5;
+
+    private final int agingInterval;
+    private final ReadyQueue.Type queueType;
+    private ProcessTable table;
+    private ExecutionListener listener;
+    private double avgWaitingTime;
+    private double avgTurnaroundTime;
+
+    // Waiting processes ordered by priority (ties by arrival order for HEAP); the running process is not in here.
+    private ReadyQueue readyQueue;
+    // Waiting processes that can still age, keyed by the tick of their next priority step.
+    private IndexedMinHeap agingQueue;
+    private int[] agingBase; // tick at which a waiting process's age was last 0
+
+    public PriorityPreemptive() {
+        this(DEFAULT_AGING_INTERVAL);
+    }
+
+    public PriorityPreemptive(int agingInterval) {
+        this(agingInterval, ReadyQueue.Type.HEAP);
+    }
+
+    public PriorityPreemptive(int agingInterval, ReadyQueue.Type queueType) {
+        this.agingInterval = agingInterval;
+        this.queueType = queueType;
+        listener = new ExecutionTrace();
+    }
+
+    @Override
+    public void setExecutionListener(ExecutionListener listener) {
+        this.listener = listener;
+    }
+
+    @Override
+    public void schedule(List<Process> inputProcesses) {
+
+        // Results are listed in arrival order, so the table is built from a sorted copy
+        List<Process> processes = new ArrayList<>(inputProcesses);
+        processes.sort(Comparator.comparingInt(Process::getArrivalTime));
+
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
+
+    @Override
+    public void schedule(ProcessTable table) {
+
+        this.table = table;
+        int n = table.size();
+
+        for (int id = 0; id < n; id++) {
+            table.setRemainingTime(id, table.getBurstTime(id));
+            table.setWaitCounter(id, 0);
+        }
+
+        // Ties go to the earlier arrival, then to the lower id
+        int[] arrivalOrder = table.arrivalOrder();
+        int[] tieRank = new int[n];
+        int minPriority = 0;
+        int maxPriority = 0;
+        for (int r = 0; r < n; r++) {
+            int id = arrivalOrder[r];
+            tieRank[id] = r;
+            minPriority = Math.min(minPriority, table.getPriority(id));
+            maxPriority = Math.max(maxPriority, table.getPriority(id));
+        }
+        readyQueue = ReadyQueue.create(queueType, n, tieRank, minPriority, maxPriority);
+        agingQueue = new IndexedMinHeap(n);
+        agingBase = new int[n];
+
+        int currentTime = 0;
+        int completed = 0;
+        int index = 0;
+        int running = -1;
+        int idleSince = -1; // start of the current idle gap, reported once it ends
+
+        while (completed < n) {
+
+            // Add arrived processes
+            while (index < n &&
+                    table.getArrivalTime(arrivalOrder[index]) <= currentTime) {
+                enqueue(arrivalOrder[index], currentTime - 1);
+                index++;
+            }
+
+            // Aging: only the processes whose step falls on this tick are touched
+            applyAging(currentTime);
+
+            // Preemption check
+            if (running != -1 && !readyQueue.isEmpty()) {
+                int top = readyQueue.peek();
+                if (table.getPriority(top) < table.getPriority(running)) {
+                    enqueue(running, currentTime - table.getWaitCounter(running));
+                    listener.onPreempt(running, currentTime);
+                    running = -1;
+                }
+            }
+
+            if (running == -1 && !readyQueue.isEmpty()) {
+                if (idleSince != -1) {
+                    listener.onIdle(idleSince, currentTime);
+                    idleSince = -1;
+                }
+                running = dispatch(currentTime);
+                listener.onDispatch(running, currentTime);
+            }
+
+            if (running != -1) {
+                table.setRemainingTime(running, table.getRemainingTime(running) - 1);
+
+                if (table.getRemainingTime(running) == 0) {
+                    table.setCompletionTime(running, currentTime + 1);
+                    table.setFinished(running, true);
+                    listener.onComplete(running, currentTime + 1);
+                    completed++;
+                    running = -1;
+                }
+
+            } else if (idleSince == -1) {
+                idleSince = currentTime;
+            }
+
+            currentTime++;
+        }
+
+        listener.onFinish();
+        calculateAverages();
+    }
+
+    // base = tick at which the process's age was 0, so its age at tick t is t - base
+    private void enqueue(int id, int base) {
+        agingBase[id] = base;
+        readyQueue.add(id, table.getPriority(id));
+        if (agingInterval > 0 && table.getPriority(id) > 0) {
+            agingQueue.insert(id, (long) base + agingInterval);
+        }
+    }
+
+    private int dispatch(int currentTime) {
+        int id = readyQueue.poll();
+        if (agingQueue.contains(id)) agingQueue.remove(id);
+        table.setWaitCounter(id, currentTime - agingBase[id]);
+        return id;
+    }
+
+    /**
+     * A waiting process loses one priority level (down to 0) every agingInterval
+     * ticks, and its age restarts at that step. Instead of touching every waiting
+     * process each tick, only the ones due on this tick are popped and re-keyed.
+     */
+    private void applyAging(int currentTime) {
+        while (!agingQueue.isEmpty() && agingQueue.peekKey() <= currentTime) {
+            int id = agingQueue.peek();
+            table.setPriority(id, table.getPriority(id) - 1);
+            agingBase[id] = currentTime;
+            readyQueue.changePriority(id, table.getPriority(id));
+
+            if (table.getPriority(id) > 0) {
+                agingQueue.changeKey(id, (long) currentTime + agingInterval);
+            } else {
+                agingQueue.remove(id);
+            }
+        }
+    }
+
+    private void calculateAverages() {
+        double w = 0, t = 0;
+        for (int id = 0; id < table.size(); id++) {
+            w += table.getWaitingTime(id);
+            t += table.getTurnaroundTime(id);
+        }
+        avgWaitingTime = w / table.size();
+        avgTurnaroundTime = t / table.size();
+    }
+
+    @Override
+    public double getAverageWaitingTime() {
+        return avgWaitingTime;
+    }
+
+    @Override
+    public double getAverageTurnaroundTime() {
+        return avgTurnaroundTime;
+    }
+
+    @Override
+    public void printExecutionOrder() {
+        System.out.println("\nExecution Order:");
+        TraceReader records = listener.reader();
+        if (records == null) {
+            System.out.println("not recorded (" + listener + ")");
+            return;
+        }
+        while (records.next()) {
+            System.out.println(records.start() + " -> " + records.end() + " : " + records.label(table));
+        }
+    }
+
+    @Override
+    public void printWaitingTime() {
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + " Waiting Time = " + table.getWaitingTime(id));
+        }
+    }
+
+    @Override
+    public void printTurnaroundTime() {
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + " Turnaround Time = " + table.getTurnaroundTime(id));
+        }
+    }
+}
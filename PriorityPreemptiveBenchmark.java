@@ -0,0 +1,59 @@
+import java.util.*;
+
+/**
+ * Rough cost-per-tick measurement for PriorityPreemptive.
+ * Arrivals are packed densely so the ready queue grows with the process count;
+ * with per-step aging the cost per simulated tick should stay almost flat.
+ *
+ * Usage: java PriorityPreemptiveBenchmark [rounds]
+ */
+public class PriorityPreemptiveBenchmark {
+
+    private static final int[] SIZES = {1_000, 10_000, 100_000};
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        for (int n : SIZES) {
+            // warm-up so the JIT has compiled the hot loop before measuring
+            for (int w = 0; w < rounds; w++) runOnce(n, w);
+
+            long bestNanos = Long.MAX_VALUE;
+            long ticks = 0;
+            for (int r = 0; r < rounds; r++) {
+                List<Process> processes = generate(n, 42 + r);
+                long start = System.nanoTime();
+                new PriorityPreemptive().schedule(processes);
+                long elapsed = System.nanoTime() - start;
+
+                bestNanos = Math.min(bestNanos, elapsed);
+                ticks = totalTicks(processes);
+            }
+            System.out.printf("n = %,9d  ticks = %,11d  best = %8.2f ms  %6.1f ns/tick%n",
+                    n, ticks, bestNanos / 1e6, (double) bestNanos / ticks);
+        }
+    }
+
+    private static void runOnce(int n, long seed) {
+        new PriorityPreemptive().schedule(generate(n, seed));
+    }
+
+    private static List<Process> generate(int n, long seed) {
+        Random random = new Random(seed);
+        List<Process> processes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            processes.add(new Process("P" + i,
+                    random.nextInt(n),
+                    1 + random.nextInt(20),
+                    random.nextInt(10),
+                    0));
+        }
+        return processes;
+    }
+
+    private static long totalTicks(List<Process> processes) {
+        long end = 0;
+        for (Process p : processes) end = Math.max(end, p.getCompletionTime());
+        return end;
+    }
+}
@@ -1,121 +1,228 @@
 import java.util.*;
 
-public class PriorityScheduler implements Scheduler {
+public class PriorityScheduler extends AbstractScheduler {
     private final int contextSwitch;
     private final int agingInterval;
-    private List<String> executionOrder = new ArrayList<>();
-    private List<Process> processes;
+    private final ReadyQueue.Type queueType;
+
+    // Ready processes ordered by priority (ties by arrival, then original index, for HEAP).
+    // The running process is never in here.
+    private ReadyQueue readyQueue;
+    // Ready processes whose priority can still change, keyed by the time of their next aging step.
+    private AgingQueue agingQueue;
+    private int[] tieRank;      // admission order of each process, i.e. its (arrival, id) rank
+    private int[] agingBase;    // time at which a ready process's wait counter was last 0
+    private int admitted;       // how many processes are already admitted
+    private int currentTime;
+    private int current;
+    private boolean started;
+    private boolean done;
+
+    // What an aging step changes: the table's priority and the process's place in the ready queue
+    private final AgingQueue.Priorities priorities = new AgingQueue.Priorities() {
+        @Override
+        public int get(int id) {
+            return table.getPriority(id);
+        }
+
+        @Override
+        public void set(int id, int priority) {
+            table.setPriority(id, priority);
+            readyQueue.changePriority(id, priority);
+        }
+    };
 
     public PriorityScheduler(int contextSwitch, int agingInterval) {
+        this(contextSwitch, agingInterval, ReadyQueue.Type.HEAP);
+    }
+
+    public PriorityScheduler(int contextSwitch, int agingInterval, ReadyQueue.Type queueType) {
+        super(new ExecutionTrace());
         this.contextSwitch = contextSwitch;
         this.agingInterval = agingInterval;
+        this.queueType = queueType;
     }
 
     @Override
     public void schedule(List<Process> processes) {
-        this.processes = processes;
-        int currentTime = 0;
-        int completed = 0;
-        int n = processes.size();
-        Process currentProcess = null;
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
+
+    @Override
+    public void submit(Process process) {
+        // an online bucket queue starts at level 1 and only grows upwards
+        if (queueType == ReadyQueue.Type.BUCKET && process.getPriority() < 1) {
+            throw new IllegalArgumentException("Priority " + process.getPriority() + " of " + process.getName()
+                    + " is below 1, which an online BUCKET queue cannot hold");
+        }
+        super.submit(process);
+    }
+
+    @Override
+    protected void reset() {
+        prepareQueues(table.size());
+        currentTime = 0;
+        current = -1;
+        started = false;
+        done = false;
+    }
+
+    @Override
+    protected void run() {
+        if (done) return;
+        if (!started) {
+            if (!feed.isKnown(0)) return;
+            advance(0, 0);
+            started = true;
+        }
 
-        while (completed < n) {
-            Process candidate = selectBestProcess(currentTime);
+        while (true) {
+            // A running process is always the best one; otherwise take the top of the ready queue
+            int candidate = current != -1 ? current : readyQueue.peek();
 
-            if (candidate == null) {
-                currentTime++;
+            if (candidate == -1) {
+                if (!feed.hasNext()) {
+                    if (feed.isClosed()) break;
+                    return;
+                }
+                // CPU idle -> jump straight to the next arrival (nothing is ready, so nothing ages)
+                int nextArrival = feed.peekArrival();
+                if (!feed.isKnown(nextArrival)) return;
+                listener.onIdle(currentTime, nextArrival);
+                currentTime = nextArrival;
+                advance(currentTime, currentTime);
                 continue;
             }
 
-            if (currentProcess != candidate) {
-                // Pre-switch: Load candidate into execution order
-                executionOrder.add(candidate.getName());
+            if (current != candidate) {
+                if (!feed.isKnown((long) currentTime + contextSwitch)) return;
 
-                // Context Switch Loop
-                for (int i = 0; i < contextSwitch; i++) {
-                    currentTime++;
-                    applyAging(currentTime, null);
-                }
+                // Pre-switch: Load candidate into execution order (it runs from the end of the switch)
+                listener.onDispatch(candidate, currentTime + contextSwitch);
+
+                // Context Switch: every ready process (candidate included) ages for the whole switch
+                advance(currentTime, currentTime + contextSwitch);
+                currentTime += contextSwitch;
 
                 // Re-check if candidate is still the best after switch duration
-                Process postSwitchBest = selectBestProcess(currentTime);
-                if (postSwitchBest != candidate) {
+                if (readyQueue.peek() != candidate) {
                     // If a better process arrived during CS, restart loop to pick it
-                    currentProcess = null;
+                    listener.onPreempt(candidate, currentTime);
                     continue;
                 }
-                currentProcess = candidate;
+                dispatch(candidate, currentTime);
+                current = candidate;
             }
 
-            // Execute one time unit
-            currentProcess.setRemainingTime(currentProcess.getRemainingTime() - 1);
-            currentTime++;
-            applyAging(currentTime, currentProcess);
-
-            if (currentProcess.getRemainingTime() <= 0) {
-                currentProcess.setFinished(true);
-                currentProcess.setCompletionTime(currentTime);
-                currentProcess.setTurnaroundTime(currentProcess.getCompletionTime() - currentProcess.getArrivalTime());
-                currentProcess.setWaitingTime(currentProcess.getTurnaroundTime() - currentProcess.getBurstTime());
-                completed++;
-                currentProcess = null;
-            } else {
-                // Preemption check for next iteration
-                Process nextBest = selectBestProcess(currentTime);
-                if (nextBest != currentProcess) {
-                    currentProcess = null;
-                }
+            // Execute until the next event (completion, arrival or aging step).
+            // Nothing can change the selection in between, so the whole interval is one step.
+            long nextEvent = currentTime + Math.max(1, table.getRemainingTime(current));
+            if (feed.hasNext()) {
+                nextEvent = Math.min(nextEvent, feed.peekArrival());
+            }
+            if (!agingQueue.isEmpty()) {
+                nextEvent = Math.min(nextEvent, agingQueue.peekKey());
+            }
+            if (!feed.isKnown(nextEvent)) return; // an arrival before the event could still come
+            advance(currentTime, (int) nextEvent);
+            table.setRemainingTime(current, table.getRemainingTime(current) - ((int) nextEvent - currentTime));
+            currentTime = (int) nextEvent;
+
+            if (table.getRemainingTime(current) <= 0) {
+                table.setFinished(current, true);
+                table.setCompletionTime(current, currentTime);
+                listener.onComplete(current, currentTime);
+                current = -1;
+            } else if (readyQueue.headBeats(current, table.getPriority(current))) {
+                // Preempted: back to the ready queue, its wait counter resumes where it stopped
+                enqueue(current, currentTime - table.getWaitCounter(current));
+                listener.onPreempt(current, currentTime);
+                current = -1;
             }
         }
+        done = true;
+        listener.onFinish();
     }
 
-    private Process selectBestProcess(int currentTime) {
-        Process best = null;
-        for (int i = 0; i < processes.size(); i++) {
-            Process p = processes.get(i);
-            if (p.getArrivalTime() <= currentTime && !p.isFinished()) {
-                if (best == null || isHigherPriority(p, best, i)) {
-                    best = p;
-                }
-            }
+    private void prepareQueues(int n) {
+        // Aging only moves priorities towards 1, so the initial values plus 1 bound every level
+        int minPriority = 1;
+        int maxPriority = 1;
+        for (int id = 0; id < n; id++) {
+            minPriority = Math.min(minPriority, table.getPriority(id));
+            maxPriority = Math.max(maxPriority, table.getPriority(id));
         }
-        return best;
+        int capacity = Math.max(16, n);
+        tieRank = new int[capacity];
+        agingBase = new int[capacity];
+        readyQueue = ReadyQueue.create(queueType, capacity, tieRank, minPriority, maxPriority);
+        agingQueue = new AgingQueue(capacity, agingInterval);
+        admitted = 0;
     }
 
-    private boolean isHigherPriority(Process p, Process best, int pIndex) {
-        if (p.getPriority() != best.getPriority()) {
-            return p.getPriority() < best.getPriority();
+    // Online tables grow; the per-process arrays follow
+    private void ensureCapacity(int id) {
+        if (id < tieRank.length) return;
+        int capacity = Math.max(id + 1, tieRank.length * 2);
+        tieRank = Arrays.copyOf(tieRank, capacity);
+        agingBase = Arrays.copyOf(agingBase, capacity);
+        readyQueue.grow(capacity, tieRank);
+        agingQueue.grow(capacity);
+    }
+
+    /**
+     * Moves the simulation over the aging ticks (from, to]: admits everything that
+     * arrives by "to" and applies every aging step that falls inside the interval.
+     * A process counts as waiting from the tick it arrives on.
+     */
+    private void advance(int from, int to) {
+        while (feed.hasNext() && feed.peekArrival() <= to) {
+            int id = feed.poll();
+            ensureCapacity(id);
+            tieRank[id] = admitted++;
+            enqueue(id, Math.max(from, table.getArrivalTime(id) - 1) - table.getWaitCounter(id));
         }
-        if (p.getArrivalTime() != best.getArrivalTime()) {
-            return p.getArrivalTime() < best.getArrivalTime();
+
+        agingQueue.ageUpTo(to, priorities);
+    }
+
+    private void enqueue(int id, int base) {
+        agingBase[id] = base;
+        readyQueue.add(id, table.getPriority(id));
+        if (agingInterval > 0 && table.getPriority(id) != 1) {
+            agingQueue.insert(id, (long) base + agingInterval);
         }
-        return pIndex < processes.indexOf(best);
     }
 
-    private void applyAging(int currentTime, Process runningProcess) {
-        if (agingInterval <= 0) return;
-        for (Process p : processes) {
-            if (p.getArrivalTime() <= currentTime && !p.isFinished() && p != runningProcess) {
-                p.setWaitCounter(p.getWaitCounter() + 1);
-                if (p.getWaitCounter() >= agingInterval) {
-                    p.setPriority(Math.max(1, p.getPriority() - 1));
-                    p.setWaitCounter(0);
-                }
-            }
+    // Takes a process off the ready queue and writes back the wait counter it built up there
+    private void dispatch(int id, int currentTime) {
+        readyQueue.remove(id);
+        if (agingQueue.contains(id)) agingQueue.remove(id);
+        if (agingInterval > 0) {
+            table.setWaitCounter(id, (currentTime - agingBase[id]) % agingInterval);
         }
     }
 
     @Override
     public void printExecutionOrder() {
-        System.out.println("Execution Order: " + executionOrder);
+        TraceReader records = listener.reader();
+        if (records == null) {
+            System.out.println("Execution Order: not recorded (" + listener + ")");
+            return;
+        }
+        System.out.print("Execution Order: [");
+        records.render(table, ", ", false, System.out);
+        System.out.println("]");
     }
 
     @Override
     public void printWaitingTime() {
         System.out.println("\nProcess Results:");
-        for (Process p : processes) {
-            System.out.println(p.getName() + ": WaitingTime = " + p.getWaitingTime()
-                    + ", TurnaroundTime = " + p.getTurnaroundTime());
+        for (int id = 0; id < table.size(); id++) {
+            System.out.println(table.getName(id) + ": WaitingTime = " + table.getWaitingTime(id)
+                    + ", TurnaroundTime = " + table.getTurnaroundTime(id));
         }
         System.out.printf("Average Waiting Time: %.1f\n", getAverageWaitingTime());
         System.out.printf("Average Turnaround Time: %.1f\n", getAverageTurnaroundTime());
@@ -126,11 +233,11 @@ public class PriorityScheduler implements Scheduler {
 
     @Override
     public double getAverageWaitingTime() {
-        return processes.stream().mapToInt(Process::getWaitingTime).average().orElse(0.0);
+        return table.getAverageWaitingTime();
     }
 
     @Override
     public double getAverageTurnaroundTime() {
-        return processes.stream().mapToInt(Process::getTurnaroundTime).average().orElse(0.0);
+        return table.getAverageTurnaroundTime();
     }
 }
@@ -1,3 +1,6 @@
+import java.util.ArrayList;
+import java.util.List;
+
 public class Process {
 
     private String name;
@@ -14,6 +17,8 @@ public class Process {
     private int waitCounter;
     private boolean finished;
 
+    private List<Integer> quantumHistory = new ArrayList<>();
+
     public Process(String name, int arrivalTime, int burstTime, int priority, int quantum) {
         this.name = name;
         this.arrivalTime = arrivalTime;
@@ -101,6 +106,10 @@ public class Process {
         this.finished = finished;
     }
 
+    public List<Integer> getQuantumHistory() {
+        return quantumHistory;
+    }
+
     @Override
     public String toString() {
         return name;
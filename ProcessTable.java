@@ -0,0 +1,302 @@
+import java.util.*;
+
+/**
+ * Struct-of-arrays form of a workload: one primitive array per Process field
+ * instead of one object per process, so the engines' hot loops walk dense
+ * int arrays. Processes are addressed by id (0..size-1, in insertion order).
+ * Names are interned: a name shared by many processes is stored once.
+ *
+ * The fixed columns (name, arrival, burst, initial priority and quantum) can
+ * come from a shared Workload; the table then only owns the per-run state, and
+ * reset() puts that back to the start so the same table can serve the next run.
+ *
+ * Waiting and turnaround times are not stored; they follow from the
+ * completion time exactly as every engine computes them.
+ */
+public class ProcessTable {
+
+    private int size;
+    // fixed columns, owned by workload when it is not null
+    private int[] nameId;
+    private int[] arrivalTime;
+    private int[] burstTime;
+    private int[] initialPriority;
+    private int[] initialQuantum;
+    private List<String> names = new ArrayList<>();
+    private final Map<String, Integer> nameIds = new HashMap<>();
+    private Workload workload;
+
+    // per-run state
+    private int[] remainingTime;
+    private int[] priority;
+    private int[] quantum;
+    private int[] completionTime;
+    private int[] waitCounter;
+    private boolean[] finished;
+
+    // Only filled in by engines that record it (AG)
+    private List<List<Integer>> quantumHistory;
+
+    public ProcessTable() {
+        this(16);
+    }
+
+    public ProcessTable(int capacity) {
+        capacity = Math.max(1, capacity);
+        nameId = new int[capacity];
+        arrivalTime = new int[capacity];
+        burstTime = new int[capacity];
+        initialPriority = new int[capacity];
+        initialQuantum = new int[capacity];
+        remainingTime = new int[capacity];
+        priority = new int[capacity];
+        quantum = new int[capacity];
+        completionTime = new int[capacity];
+        waitCounter = new int[capacity];
+        finished = new boolean[capacity];
+    }
+
+    /** A fresh run of the given workload: shares its columns, allocates only the per-run state. */
+    public ProcessTable(Workload workload) {
+        this.workload = workload;
+        this.size = workload.size();
+        this.nameId = workload.nameIds();
+        this.arrivalTime = workload.arrivalTimes();
+        this.burstTime = workload.burstTimes();
+        this.initialPriority = workload.priorities();
+        this.initialQuantum = workload.quanta();
+        this.names = workload.names();
+        int capacity = Math.max(1, size);
+        remainingTime = new int[capacity];
+        priority = new int[capacity];
+        quantum = new int[capacity];
+        completionTime = new int[capacity];
+        waitCounter = new int[capacity];
+        finished = new boolean[capacity];
+        reset();
+    }
+
+    /** Copies the current state of the given processes, in list order. */
+    public static ProcessTable of(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            int id = table.add(p.getName(), p.getArrivalTime(), p.getBurstTime(), p.getPriority(), p.getQuantum());
+            table.remainingTime[id] = p.getRemainingTime();
+            table.completionTime[id] = p.getCompletionTime();
+            table.waitCounter[id] = p.getWaitCounter();
+            table.finished[id] = p.isFinished();
+        }
+        return table;
+    }
+
+    /** Appends a new process and returns its id. */
+    public int add(String name, int arrivalTime, int burstTime, int priority, int quantum) {
+        if (workload != null) detach();
+        if (size == this.arrivalTime.length) grow(size * 2);
+        int id = size++;
+        this.nameId[id] = nameIds.computeIfAbsent(name, key -> {
+            names.add(key);
+            return names.size() - 1;
+        });
+        this.arrivalTime[id] = arrivalTime;
+        this.burstTime[id] = burstTime;
+        this.initialPriority[id] = priority;
+        this.initialQuantum[id] = quantum;
+        this.remainingTime[id] = burstTime;
+        this.priority[id] = priority;
+        this.quantum[id] = quantum;
+        return id;
+    }
+
+    // Takes private copies of the shared columns before they are changed
+    private void detach() {
+        nameId = nameId.clone();
+        arrivalTime = arrivalTime.clone();
+        burstTime = burstTime.clone();
+        initialPriority = initialPriority.clone();
+        initialQuantum = initialQuantum.clone();
+        names = new ArrayList<>(names);
+        for (int i = 0; i < names.size(); i++) nameIds.putIfAbsent(names.get(i), i);
+        workload = null;
+    }
+
+    /**
+     * The fixed columns as a Workload. A table built with add() hands its
+     * columns over (trimmed) and shares them from then on.
+     */
+    public Workload getWorkload() {
+        if (workload == null) {
+            nameId = Arrays.copyOf(nameId, size);
+            arrivalTime = Arrays.copyOf(arrivalTime, size);
+            burstTime = Arrays.copyOf(burstTime, size);
+            initialPriority = Arrays.copyOf(initialPriority, size);
+            initialQuantum = Arrays.copyOf(initialQuantum, size);
+            workload = new Workload(size, nameId, arrivalTime, burstTime, initialPriority, initialQuantum,
+                    Collections.unmodifiableList(names));
+        }
+        return workload;
+    }
+
+    /** Puts the per-run state back to how the workload starts, for the next run on this table. */
+    public void reset() {
+        System.arraycopy(burstTime, 0, remainingTime, 0, size);
+        System.arraycopy(initialPriority, 0, priority, 0, size);
+        System.arraycopy(initialQuantum, 0, quantum, 0, size);
+        Arrays.fill(completionTime, 0, size, 0);
+        Arrays.fill(waitCounter, 0, size, 0);
+        Arrays.fill(finished, 0, size, false);
+        quantumHistory = null;
+    }
+
+    /** Writes the per-run state back into the processes this table was built from. */
+    public void copyTo(List<Process> processes) {
+        for (int id = 0; id < size; id++) {
+            Process p = processes.get(id);
+            p.setRemainingTime(remainingTime[id]);
+            p.setPriority(priority[id]);
+            p.setQuantum(quantum[id]);
+            p.setCompletionTime(completionTime[id]);
+            p.setTurnaroundTime(getTurnaroundTime(id));
+            p.setWaitingTime(getWaitingTime(id));
+            p.setWaitCounter(waitCounter[id]);
+            p.setFinished(finished[id]);
+            if (quantumHistory != null && quantumHistory.get(id) != null) {
+                p.getQuantumHistory().addAll(quantumHistory.get(id));
+            }
+        }
+    }
+
+    /** Process ids sorted by arrival time; equal arrivals keep id order. Do not modify. */
+    public int[] arrivalOrder() {
+        return workload != null ? workload.arrivalOrder() : sortByArrival(arrivalTime, size);
+    }
+
+    static int[] sortByArrival(int[] arrivalTime, int size) {
+        long[] keys = new long[size];
+        for (int id = 0; id < size; id++) {
+            keys[id] = ((long) arrivalTime[id] << 32) | id;
+        }
+        Arrays.sort(keys);
+        int[] order = new int[size];
+        for (int i = 0; i < size; i++) order[i] = (int) keys[i];
+        return order;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int id) {
+        return names.get(nameId[id]);
+    }
+
+    public int getNameId(int id) {
+        return nameId[id];
+    }
+
+    public int getArrivalTime(int id) {
+        return arrivalTime[id];
+    }
+
+    public int getBurstTime(int id) {
+        return burstTime[id];
+    }
+
+    public int getRemainingTime(int id) {
+        return remainingTime[id];
+    }
+
+    public void setRemainingTime(int id, int remainingTime) {
+        this.remainingTime[id] = remainingTime;
+    }
+
+    public int getPriority(int id) {
+        return priority[id];
+    }
+
+    public void setPriority(int id, int priority) {
+        this.priority[id] = priority;
+    }
+
+    public int getQuantum(int id) {
+        return quantum[id];
+    }
+
+    public void setQuantum(int id, int quantum) {
+        this.quantum[id] = quantum;
+    }
+
+    public int getCompletionTime(int id) {
+        return completionTime[id];
+    }
+
+    public void setCompletionTime(int id, int completionTime) {
+        this.completionTime[id] = completionTime;
+    }
+
+    public int getTurnaroundTime(int id) {
+        return completionTime[id] - arrivalTime[id];
+    }
+
+    public int getWaitingTime(int id) {
+        return getTurnaroundTime(id) - burstTime[id];
+    }
+
+    public int getWaitCounter(int id) {
+        return waitCounter[id];
+    }
+
+    public void setWaitCounter(int id, int waitCounter) {
+        this.waitCounter[id] = waitCounter;
+    }
+
+    public boolean isFinished(int id) {
+        return finished[id];
+    }
+
+    public void setFinished(int id, boolean finished) {
+        this.finished[id] = finished;
+    }
+
+    public List<Integer> getQuantumHistory(int id) {
+        if (quantumHistory == null) {
+            quantumHistory = new ArrayList<>(Collections.nCopies(size, null));
+        }
+        while (quantumHistory.size() < size) quantumHistory.add(null); // added to since (online runs)
+        List<Integer> history = quantumHistory.get(id);
+        if (history == null) {
+            history = new ArrayList<>();
+            quantumHistory.set(id, history);
+        }
+        return history;
+    }
+
+    public double getAverageWaitingTime() {
+        if (size == 0) return 0;
+        double sum = 0;
+        for (int id = 0; id < size; id++) sum += getWaitingTime(id);
+        return sum / size;
+    }
+
+    public double getAverageTurnaroundTime() {
+        if (size == 0) return 0;
+        double sum = 0;
+        for (int id = 0; id < size; id++) sum += getTurnaroundTime(id);
+        return sum / size;
+    }
+
+    private void grow(int capacity) {
+        capacity = Math.max(capacity, 1);
+        nameId = Arrays.copyOf(nameId, capacity);
+        arrivalTime = Arrays.copyOf(arrivalTime, capacity);
+        burstTime = Arrays.copyOf(burstTime, capacity);
+        initialPriority = Arrays.copyOf(initialPriority, capacity);
+        initialQuantum = Arrays.copyOf(initialQuantum, capacity);
+        remainingTime = Arrays.copyOf(remainingTime, capacity);
+        priority = Arrays.copyOf(priority, capacity);
+        quantum = Arrays.copyOf(quantum, capacity);
+        completionTime = Arrays.copyOf(completionTime, capacity);
+        waitCounter = Arrays.copyOf(waitCounter, capacity);
+        finished = Arrays.copyOf(finished, capacity);
+    }
+}
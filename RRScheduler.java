@@ -1,74 +1,194 @@
 import java.util.*;
 
 
-public class RRScheduler implements Scheduler {
+public class RRScheduler extends AbstractScheduler {
 
-    private List<Process> processes;
-    private List<String> executionOrder; // to visualize the order
     private int contextSwitch;
     private int quantum;
+    private boolean fastForward;
+
+    private IntDeque readyQueue; // process ids, no node per enqueue
+    private int currentTime;
+    private int slicesSinceCheck;
+    private boolean started;
+    private boolean switchDue;   // a slice ended; the context switch counts only if another process runs
+    private boolean done;
 
     public RRScheduler(int contextSwitch, int rrQuantum) {
+        this(contextSwitch, rrQuantum, false);
+    }
+
+    /**
+     * @param fastForward skip whole rounds arithmetically while no arrival or completion
+     *                    can interrupt them; repeated rounds show up in the execution
+     *                    order as one "(P1 -> P2 -> ...) x m" segment.
+     */
+    public RRScheduler(int contextSwitch, int rrQuantum, boolean fastForward) {
+        super(new ExecutionTrace(false)); // every dispatch is listed
         this.contextSwitch = contextSwitch;
         this.quantum = rrQuantum;
-        this.executionOrder = new ArrayList<>();
+        this.fastForward = fastForward;
     }
 
     @Override
     public void schedule(List<Process> processes) {
 
-        this.processes = processes;
-
-        // Sort by arrival time
+        // Sort by arrival time (results are listed in this order)
         processes.sort(Comparator.comparingInt(Process::getArrivalTime));
-        Queue<Process> readyQueue = new LinkedList<>();
-        int currentTime = 0;
-        int index = 0;
-        int completed = 0;
-        int n = processes.size();
-
-        readyQueue.add(processes.get(index)); //now index=0
-        currentTime = processes.get(index).getArrivalTime();// to prevent -ve waiting time
-        index++;
-
-        while (!readyQueue.isEmpty()) {
-            Process current= readyQueue.poll();
-            executionOrder.add(current.getName());
-
-            int executionTime = Math.min(current.getRemainingTime(),quantum); // as if the process end before hte quantum
-            current.setRemainingTime(current.getRemainingTime()-executionTime);
+
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
+
+    @Override
+    protected void reset() {
+        readyQueue = new IntDeque(table.size());
+        currentTime = 0;
+        slicesSinceCheck = 0;
+        started = false;
+        switchDue = false;
+        done = false;
+    }
+
+    @Override
+    protected void run() {
+        if (done) return;
+
+        if (!started) {
+            if (feed.hasNext()) {
+                if (!feed.isKnown(feed.peekArrival())) return;
+                currentTime = feed.peekArrival();// to prevent -ve waiting time
+                readyQueue.pushBack(feed.poll());
+            } else if (!feed.isClosed()) {
+                return;
+            }
+            started = true;
+        }
+
+        while (true) {
+            if (switchDue) {
+                boolean willRunAnotherProcess = !readyQueue.isEmpty() || feed.hasNext();
+                if (!willRunAnotherProcess && !feed.isClosed()) return; // not known yet
+                if (willRunAnotherProcess) //to add context if another process will start
+                {
+                    currentTime += contextSwitch;
+                }
+                switchDue = false;
+            }
+
+            if (readyQueue.isEmpty()) {
+                if (!feed.hasNext()) {
+                    if (feed.isClosed()) break;
+                    return;
+                }
+                // CPU idle -> jump to the next arrival
+                int nextArrival = feed.peekArrival();
+                if (!feed.isKnown(nextArrival)) return;
+                if (nextArrival > currentTime) listener.onIdle(currentTime, nextArrival);
+                currentTime = Math.max(currentTime, nextArrival);
+                admitArrivals(currentTime);
+                continue;
+            }
+
+            // the whole slice must be decided before it starts
+            int head = readyQueue.peekFirst();
+            if (!feed.isKnown((long) currentTime + sliceOf(head))) return;
+
+            // at most one attempt per round keeps the check O(1) per slice
+            if (fastForward && slicesSinceCheck + 1 >= readyQueue.size()) {
+                long rounds = roundsToSkip(currentTime);
+                if (rounds >= 2) {
+                    // the skipped rounds and the slice after them must be decided too
+                    long end = currentTime + rounds * roundLength()
+                            + Math.min(table.getRemainingTime(head) - rounds * quantum, quantum);
+                    if (!feed.isKnown(end)) return;
+                    currentTime = skipRounds(rounds, currentTime);
+                }
+                slicesSinceCheck = 0;
+            } else if (fastForward) {
+                slicesSinceCheck++;
+            }
+
+            int current = readyQueue.pollFirst();
+            listener.onDispatch(current, currentTime);
+
+            int executionTime = Math.min(table.getRemainingTime(current),quantum); // as if the process end before hte quantum
+            table.setRemainingTime(current, table.getRemainingTime(current)-executionTime);
             currentTime += executionTime;
                 //add the new added processes
-            while (index < n && processes.get(index).getArrivalTime() <= currentTime) {
-                readyQueue.add(processes.get(index));
-                index++;
-            }
+            admitArrivals(currentTime);
            // ////////////////////////////////////
             // If process not completed
-            if (!current.isFinished()) { // Remaining time > 0
+            if (table.getRemainingTime(current) > 0) {
 //                if(!readyQueue.isEmpty())
 //                {
 //                    currentTime += contextSwitch; // add the contextswitching cost
 //                }
-                    readyQueue.add(current); // add to the end of the queue
+                    readyQueue.pushBack(current); // add to the end of the queue
+                    listener.onPreempt(current, currentTime);
             } else {
-                completed++;
+                table.setFinished(current, true);
 //
-                current.setCompletionTime(currentTime);
-                current.setTurnaroundTime(
-                        current.getCompletionTime() - current.getArrivalTime());
-                current.setWaitingTime(
-                        current.getTurnaroundTime() - current.getBurstTime());
+                table.setCompletionTime(current, currentTime);
+                listener.onComplete(current, currentTime);
             }
-            boolean willRunAnotherProcess = !readyQueue.isEmpty() || index < n;
+            switchDue = true;
+
+        }
+        done = true;
+        listener.onFinish();
+    }
 
-            if (willRunAnotherProcess) //to add context if another process will start
-            {
-                currentTime += contextSwitch;
+    private int sliceOf(int id) {
+        return Math.min(table.getRemainingTime(id), quantum);
+    }
 
-            }
+    // Appends every process with arrival <= time, found by binary search over the sorted arrivals
+    private void admitArrivals(int time) {
+        feed.pollUpTo(time, readyQueue);
+    }
 
+    /**
+     * While nothing arrives and nothing finishes, round robin over the k queued jobs
+     * repeats the same round: every job runs one full quantum followed by a context
+     * switch, and the queue ends up in the same order. This counts the m such rounds
+     * skipRounds can apply at once, where m is limited by the job closest to finishing and by the next
+     * arrival (it must not be admitted at any slice end inside the skipped rounds).
+     */
+    private long roundsToSkip(int currentTime) {
+        if (quantum <= 0) return 0;
+
+        int k = readyQueue.size();
+        int minRemaining = Integer.MAX_VALUE;
+        for (int i = 0; i < k; i++) {
+            minRemaining = Math.min(minRemaining, table.getRemainingTime(readyQueue.get(i)));
         }
+        long rounds = (minRemaining - 1) / quantum;
+
+        if (feed.hasNext()) {
+            // last slice end inside the skipped rounds must come before the next arrival
+            rounds = Math.min(rounds, ((long) feed.peekArrival() - currentTime + contextSwitch - 1) / roundLength());
+        }
+        return rounds;
+    }
+
+    private long roundLength() {
+        return (long) readyQueue.size() * (quantum + contextSwitch);
+    }
+
+    private int skipRounds(long rounds, int currentTime) {
+        int k = readyQueue.size();
+        listener.onRepeat(k, (int) rounds);
+        for (int i = 0; i < k; i++) {
+            int id = readyQueue.get(i);
+            table.setRemainingTime(id, table.getRemainingTime(id) - (int) rounds * quantum);
+            int start = currentTime + i * (quantum + contextSwitch);
+            listener.onDispatch(id, start);
+            listener.onPreempt(id, start + quantum);
+        }
+
+        return (int) (currentTime + rounds * roundLength());
     }
 
     // Output Methods 
@@ -76,9 +196,14 @@ public class RRScheduler implements Scheduler {
     @Override
     public void printExecutionOrder() {
         System.out.println("Execution Order:");
-        for (String p : executionOrder)
+        TraceReader records = listener.reader();
+        if (records == null)
+        {
+            System.out.println("not recorded (" + listener + ")");
+        }
+        else if (records.render(table, " -> ", false, System.out) > 0)
         {
-            System.out.print(p + " -> ");
+            System.out.print(" -> ");
         }
         System.out.println("The END");
     }
@@ -86,35 +211,35 @@ public class RRScheduler implements Scheduler {
     @Override
     public void printWaitingTime() {
         System.out.println("\n Waiting Time:");
-        for (Process p : processes) {
-            System.out.println(p.getName() + ": " + p.getWaitingTime());
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + ": " + table.getWaitingTime(id));
         }
     }
 
     @Override
     public void printTurnaroundTime() {
         System.out.println("\nTurnaround Time:");
-        for (Process p : processes) {
-            System.out.println(p.getName() + ": " + p.getTurnaroundTime());
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + ": " + table.getTurnaroundTime(id));
         }
     }
 
     @Override
     public double getAverageWaitingTime() {
         double sum = 0;
-        for (Process p : processes) {
-            sum += p.getWaitingTime();
+        for (int id = 0; id < table.size(); id++) {
+            sum += table.getWaitingTime(id);
         }
-        return sum / processes.size();
+        return sum / table.size();
     }
 
     @Override
     public double getAverageTurnaroundTime() {
         double sum = 0;
-        for (Process p : processes) {
-            sum += p.getTurnaroundTime();
+        for (int id = 0; id < table.size(); id++) {
+            sum += table.getTurnaroundTime(id);
         }
-        return sum / processes.size();
+        return sum / table.size();
     }
 }
 
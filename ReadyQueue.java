@@ -0,0 +1,49 @@
+/**
+ * Ready queue used by the priority engines. Entries are process indices
+ * (0..capacity-1) and a lower priority number is served first.
+ * The engines pick the implementation at construction time through {@link Type}.
+ */
+public interface ReadyQueue {
+
+    enum Type {
+        /** Indexed binary heap: O(log n), ties broken by the engine's (arrival, input order) rank. */
+        HEAP,
+        /** One FIFO bucket per priority level plus a bitmap: O(1), ties broken by the order a level was reached. */
+        BUCKET
+    }
+
+    void add(int id, int priority);
+
+    void remove(int id);
+
+    /** Makes room for ids below capacity (online runs); tieRank is the engine's current rank array. */
+    void grow(int capacity, int[] tieRank);
+
+    /** Moves a queued process to a new priority level (aging). */
+    void changePriority(int id, int priority);
+
+    boolean contains(int id);
+
+    boolean isEmpty();
+
+    /** Process that would be served next, or -1 if the queue is empty. */
+    int peek();
+
+    /** Removes and returns the process that would be served next, or -1 if the queue is empty. */
+    int poll();
+
+    /** True if the head of the queue should take the CPU from process id running at the given priority. */
+    boolean headBeats(int id, int priority);
+
+    /**
+     * @param tieRank      rank of each process among equal priorities (used by HEAP)
+     * @param minPriority  lowest priority value the engine can produce (used by BUCKET)
+     * @param maxPriority  highest priority value the engine can produce (used by BUCKET)
+     */
+    static ReadyQueue create(Type type, int capacity, int[] tieRank, int minPriority, int maxPriority) {
+        return switch (type) {
+            case HEAP -> new HeapReadyQueue(capacity, tieRank);
+            case BUCKET -> new BucketReadyQueue(capacity, minPriority, maxPriority);
+        };
+    }
+}
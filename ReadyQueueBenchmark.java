@@ -0,0 +1,55 @@
+import java.util.*;
+
+/**
+ * Compares the HEAP and BUCKET ready queues inside both priority engines on the
+ * same workload (priorities 1..10, dense arrivals so the ready queue stays large).
+ *
+ * Usage: java ReadyQueueBenchmark [rounds]
+ */
+public class ReadyQueueBenchmark {
+
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+
+    public static void main(String[] args) {
+        int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        for (int n : SIZES) {
+            for (ReadyQueue.Type type : ReadyQueue.Type.values()) {
+                long priority = best(rounds, n, () -> new PriorityScheduler(1, 10, type));
+                long preemptive = best(rounds, n, () -> new PriorityPreemptive(5, type));
+                System.out.printf("n = %,9d  %-6s  PriorityScheduler %9.2f ms   PriorityPreemptive %9.2f ms%n",
+                        n, type, priority / 1e6, preemptive / 1e6);
+            }
+        }
+    }
+
+    private interface SchedulerFactory {
+        Scheduler create();
+    }
+
+    // Best of "rounds" timed runs, after the same number of warm-up runs
+    private static long best(int rounds, int n, SchedulerFactory factory) {
+        long bestNanos = Long.MAX_VALUE;
+        for (int r = 0; r < 2 * rounds; r++) {
+            List<Process> processes = generate(n, 42 + r);
+            long start = System.nanoTime();
+            factory.create().schedule(processes);
+            long elapsed = System.nanoTime() - start;
+            if (r >= rounds) bestNanos = Math.min(bestNanos, elapsed);
+        }
+        return bestNanos;
+    }
+
+    private static List<Process> generate(int n, long seed) {
+        Random random = new Random(seed);
+        List<Process> processes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            processes.add(new Process("P" + i,
+                    random.nextInt(n),
+                    1 + random.nextInt(20),
+                    1 + random.nextInt(10),
+                    0));
+        }
+        return processes;
+    }
+}
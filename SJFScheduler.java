@@ -1,143 +1,201 @@
 import java.util.*;
 
-public class SJFScheduler implements Scheduler {
+public class SJFScheduler extends AbstractScheduler {
 
-    private List<Process> processes;
-    private List<String> executionOrder;
     private int contextSwitch;
 
+    // entries are key(id): remaining time in the high half, (arrival, name) rank in the low half
+    private LongMinHeap readyQueue;
+    private int[] rankOf;   // process id -> heap tie-break rank
+    private int[] idOfRank; // heap tie-break rank -> process id
+    private int ranked;     // ranks handed out so far
+    private int time;
+    private int current;
+    private int remaining; // remaining time of current; written back to it only when it leaves the CPU
+    private int prev; // previously running process (used to determine if context switch is needed)
+    private boolean done;
+
     public SJFScheduler(int contextSwitch) {
+        super(new ExecutionTrace());
         this.contextSwitch = contextSwitch;
-        this.executionOrder = new ArrayList<>();
     }
 
     @Override
     public void schedule(List<Process> processes) {
-        this.processes = processes;
-
-        // sort by arrival to ease adding arrivals
+        // sort by arrival to ease adding arrivals (results are listed in this order)
         processes.sort(Comparator.comparingInt(Process::getArrivalTime));
 
-        PriorityQueue<Process> readyQueue = new PriorityQueue<>(
-                (a, b) -> {
-                    if (a.getRemainingTime() != b.getRemainingTime())
-                        return a.getRemainingTime() - b.getRemainingTime();
-                    if (a.getArrivalTime() != b.getArrivalTime())
-                        return a.getArrivalTime() - b.getArrivalTime();
-                    return a.getName().compareTo(b.getName());
-                }
-        );
+        ProcessTable table = ProcessTable.of(processes);
+        schedule(table);
+        table.copyTo(processes);
+    }
 
-        int time = 0;
-        int completed = 0;
-        int index = 0; // index over sorted processes for arrivals
-        Process current = null;
-        Process prev = null; // previously running process (used to determine if context switch is needed)
+    @Override
+    protected void reset() {
+        int capacity = Math.max(16, table.size());
+        readyQueue = new LongMinHeap(capacity);
+        rankOf = new int[capacity];
+        idOfRank = new int[capacity];
+        ranked = 0;
+        time = 0;
+        current = -1;
+        remaining = 0;
+        prev = -1;
+        done = false;
+    }
 
-        while (completed < processes.size()) {
+    @Override
+    protected void run() {
+        if (done) return;
 
-            while (index < processes.size() && processes.get(index).getArrivalTime() <= time) {
-                readyQueue.add(processes.get(index));
-                index++;
-            }
+        while (true) {
+
+            if (!feed.isKnown(time)) return;
+            admit(time);
 
-            if (current == null) {
+            if (current == -1) {
                 if (readyQueue.isEmpty()) {
                     // CPU idle -> jump to next arrival time (no context switch while idle)
-                    if (index < processes.size()) {
-                        time = Math.max(time, processes.get(index).getArrivalTime());
+                    if (feed.hasNext()) {
+                        int nextArrival = feed.peekArrival();
+                        if (!feed.isKnown(nextArrival)) return;
+                        if (nextArrival > time) listener.onIdle(time, nextArrival);
+                        time = Math.max(time, nextArrival);
                         continue;
-                    } else {
+                    } else if (feed.isClosed()) {
                         break;
+                    } else {
+                        return;
                     }
                 } else {
-                    Process next = readyQueue.poll();
+                    int next = idOfRank[(int) readyQueue.peek()];
 
                     // if switching from a previous process to this new one, add context switch
-                    if (prev != null && prev != next && contextSwitch > 0) {
+                    boolean switching = prev != -1 && prev != next && contextSwitch > 0;
+                    if (switching && !feed.isKnown((long) time + contextSwitch)) return;
+                    readyQueue.poll();
+                    if (switching) {
                         time += contextSwitch;
                         // add arrivals that happened during the context switch
-                        while (index < processes.size() && processes.get(index).getArrivalTime() <= time) {
-                            readyQueue.add(processes.get(index));
-                            index++;
-                        }
+                        admit(time);
                     }
 
                     current = next;
+                    remaining = table.getRemainingTime(current);
 
                     // record every dispatch (not only first start)
-                    executionOrder.add(current.getName());
+                    listener.onDispatch(current, time);
                 }
             }
 
-            current.setRemainingTime(current.getRemainingTime() - 1);
-            time += 1;
-
-            while (index < processes.size() && processes.get(index).getArrivalTime() <= time) {
-                readyQueue.add(processes.get(index));
-                index++;
+            // SRTF can only change its mind when a process arrives, so run until the next
+            // arrival or completion in one step. A shorter job that arrived during the
+            // context switch is already waiting and takes over after a single unit.
+            int step = remaining;
+            if (feed.hasNext()) {
+                step = Math.min(step, feed.peekArrival() - time);
+            }
+            if (!readyQueue.isEmpty() && (readyQueue.peek() >> 32) < remaining - 1) {
+                step = 1;
             }
+            step = Math.max(step, 1);
+            if (!feed.isKnown((long) time + step)) return; // an arrival inside the step could still come
+
+            remaining -= step;
+            time += step;
 
-            if (!readyQueue.isEmpty() && current.getRemainingTime() > 0
-                    && readyQueue.peek().getRemainingTime() < current.getRemainingTime()) {
+            admit(time);
+
+            if (!readyQueue.isEmpty() && remaining > 0
+                    && (readyQueue.peek() >> 32) < remaining) {
+                table.setRemainingTime(current, remaining);
                 prev = current; // mark this as previous so next selection triggers context switch
-                readyQueue.add(current);
-                current = null;
+                readyQueue.add(key(current));
+                listener.onPreempt(current, time);
+                current = -1;
                 continue;
             }
 
-            if (current.getRemainingTime() == 0) {
-                current.setCompletionTime(time);
-                completed++;
+            if (remaining == 0) {
+                table.setRemainingTime(current, 0);
+                table.setCompletionTime(current, time);
+                table.setFinished(current, true);
+                listener.onComplete(current, time);
                 prev = current; 
-                current = null;
+                current = -1;
             }
         }
-
-        calculateTimes();
+        done = true;
+        listener.onFinish();
     }
 
-    private void calculateTimes() {
-        for (Process p : processes) {
-            int turnaround = p.getCompletionTime() - p.getArrivalTime();
-            int waiting = turnaround - p.getBurstTime();
-            p.setTurnaroundTime(turnaround);
-            p.setWaitingTime(waiting);
+    // Queues every arrival up to t. Ranks follow (arrival, name), the old comparator's tie-break:
+    // arrivals come in arrival order, so only the ones admitted together need sorting.
+    private void admit(int t) {
+        int from = ranked;
+        while (feed.hasNext() && feed.peekArrival() <= t) {
+            int id = feed.poll();
+            if (ranked == idOfRank.length) idOfRank = Arrays.copyOf(idOfRank, ranked * 2);
+            idOfRank[ranked++] = id;
+        }
+        sortByArrivalAndName(idOfRank, from, ranked, table);
+        if (table.size() > rankOf.length) rankOf = Arrays.copyOf(rankOf, Math.max(table.size(), rankOf.length * 2));
+        for (int r = from; r < ranked; r++) {
+            rankOf[idOfRank[r]] = r;
+            readyQueue.add(key(idOfRank[r]));
         }
     }
 
+    /**
+     * Puts the ids in ids[from, to) in (arrival, name) order, the SRTF tie-break.
+     * MultiCoreScheduler ranks its SJF arrivals with it too.
+     */
+    static void sortByArrivalAndName(int[] ids, int from, int to, ProcessTable table) {
+        if (to - from < 2) return;
+        Integer[] batch = new Integer[to - from];
+        for (int r = from; r < to; r++) batch[r - from] = ids[r];
+        Arrays.sort(batch, Comparator.<Integer>comparingInt(table::getArrivalTime)
+                .thenComparing(table::getName));
+        for (int r = from; r < to; r++) ids[r] = batch[r - from];
+    }
+
+    private long key(int id) {
+        return ((long) table.getRemainingTime(id) << 32) | rankOf[id];
+    }
+
     @Override
     public void printExecutionOrder() {
-        System.out.println("Execution Order: " + executionOrder);
+        TraceReader records = listener.reader();
+        if (records == null) {
+            System.out.println("Execution Order: not recorded (" + listener + ")");
+            return;
+        }
+        System.out.print("Execution Order: [");
+        records.render(table, ", ", false, System.out);
+        System.out.println("]");
     }
 
     @Override
     public void printWaitingTime() {
-        for (Process p : processes) {
-            System.out.println(p.getName() + " Waiting Time = " + p.getWaitingTime());
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + " Waiting Time = " + table.getWaitingTime(id));
         }
     }
 
     @Override
     public void printTurnaroundTime() {
-        for (Process p : processes) {
-            System.out.println(p.getName() + " Turnaround Time = " + p.getTurnaroundTime());
+        for (int id : table.arrivalOrder()) {
+            System.out.println(table.getName(id) + " Turnaround Time = " + table.getTurnaroundTime(id));
         }
     }
 
     @Override
     public double getAverageWaitingTime() {
-        return processes.stream()
-                .mapToInt(Process::getWaitingTime)
-                .average()
-                .orElse(0);
+        return table.getAverageWaitingTime();
     }
 
     @Override
     public double getAverageTurnaroundTime() {
-        return processes.stream()
-                .mapToInt(Process::getTurnaroundTime)
-                .average()
-                .orElse(0);
+        return table.getAverageTurnaroundTime();
     }
 }
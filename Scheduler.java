@@ -4,6 +4,12 @@ public interface Scheduler {
 
     void schedule(List<Process> processes);
 
+    // Same run on the struct-of-arrays form; results stay in the table
+    void schedule(ProcessTable table);
+
+    // Where the execution order goes (dispatch, preemption, completion, idle); in memory by default
+    void setExecutionListener(ExecutionListener listener);
+
     void printExecutionOrder();
 
     void printWaitingTime();
@@ -0,0 +1,121 @@
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Runs several schedulers on the same workload at the same time, one task per
+ * scheduler on a fixed thread pool. Each run gets its own ProcessTable on the
+ * shared (immutable) Workload, so the runs never touch each other's state.
+ *
+ * Results come back in the order the schedulers were added, whatever order the
+ * runs finish in, so everything printed from them is deterministic.
+ */
+public class SchedulerComparison {
+
+    public static class Result {
+        private final String name;
+        private final Scheduler scheduler;
+        private final ProcessTable table;
+        private final long nanos;
+
+        Result(String name, Scheduler scheduler, ProcessTable table, long nanos) {
+            this.name = name;
+            this.scheduler = scheduler;
+            this.table = table;
+            this.nanos = nanos;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Scheduler getScheduler() {
+            return scheduler;
+        }
+
+        public ProcessTable getTable() {
+            return table;
+        }
+
+        public double getAverageWaitingTime() {
+            return scheduler.getAverageWaitingTime();
+        }
+
+        public double getAverageTurnaroundTime() {
+            return scheduler.getAverageTurnaroundTime();
+        }
+
+        public int getMakespan() {
+            int end = 0;
+            for (int id = 0; id < table.size(); id++) end = Math.max(end, table.getCompletionTime(id));
+            return end;
+        }
+
+        // Wall time of the run itself (not of waiting for a thread)
+        public long getNanos() {
+            return nanos;
+        }
+    }
+
+    private final Workload workload;
+    private final int threads;
+    private final List<String> names = new ArrayList<>();
+    private final List<Scheduler> schedulers = new ArrayList<>();
+
+    public SchedulerComparison(Workload workload) {
+        this(workload, Runtime.getRuntime().availableProcessors());
+    }
+
+    public SchedulerComparison(Workload workload, int threads) {
+        this.workload = workload;
+        this.threads = Math.max(1, threads);
+    }
+
+    public void add(String name, Scheduler scheduler) {
+        names.add(name);
+        schedulers.add(scheduler);
+    }
+
+    /** Runs every added scheduler concurrently and waits for all of them. */
+    public List<Result> run() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(threads, Math.max(1, schedulers.size())));
+        try {
+            List<Future<Result>> futures = new ArrayList<>();
+            for (int i = 0; i < schedulers.size(); i++) {
+                String name = names.get(i);
+                Scheduler scheduler = schedulers.get(i);
+                futures.add(pool.submit(() -> {
+                    ProcessTable table = new ProcessTable(workload);
+                    long start = System.nanoTime();
+                    scheduler.schedule(table);
+                    return new Result(name, scheduler, table, System.nanoTime() - start);
+                }));
+            }
+
+            // collected in submission order, not completion order
+            List<Result> results = new ArrayList<>();
+            for (Future<Result> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+                    if (cause instanceof Error) throw (Error) cause;
+                    throw new IllegalStateException(cause);
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    // Run times are left out on purpose: they would make the output differ between runs
+    public static void printTable(List<Result> results) {
+        System.out.println("Comparison:");
+        System.out.printf("%-12s %12s %12s %10s%n", "Scheduler", "Avg Waiting", "Avg TAT", "Makespan");
+        for (Result r : results) {
+            System.out.printf("%-12s %12.2f %12.2f %10d%n", r.getName(), r.getAverageWaitingTime(),
+                    r.getAverageTurnaroundTime(), r.getMakespan());
+        }
+    }
+}
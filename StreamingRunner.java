@@ -0,0 +1,87 @@
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Schedules a test-case JSON file while it is still being read: every process
+ * JsonWorkloadReader hands out is submitted to an online engine right away,
+ * and while the arrivals come in order the engine is advanced to each new
+ * arrival, so it has taken every decision before it by the time the next
+ * process is parsed. Only the engine's table grows with the file.
+ *
+ * The engine is built from the parameters written before "processes" (the
+ * generator and the test cases put them there). A process arriving before one
+ * read earlier cannot be waited for: the engine is not advanced any more until
+ * finish(), and that process is taken to arrive at the last watermark, as
+ * OnlineScheduler does for any late submission.
+ *
+ * Usage: java StreamingRunner file.json [SJF|RR|PRIORITY|AG]
+ */
+public class StreamingRunner {
+
+    /** Submits the reader's remaining processes as they are read, then finishes; returns how many. */
+    public static long stream(JsonWorkloadReader reader, OnlineScheduler scheduler) throws IOException {
+        long first = reader.getCount();
+        int watermark = Integer.MIN_VALUE;
+        while (reader.next()) {
+            int arrival = reader.getArrivalTime();
+            // in order: everything arriving before this process has been submitted
+            if (reader.isArrivalOrdered() && arrival > watermark) {
+                scheduler.advanceTo(arrival);
+                watermark = arrival;
+            }
+            scheduler.submit(new Process(reader.getName(), arrival, reader.getBurstTime(),
+                    reader.getPriority(), reader.getQuantum()));
+        }
+        scheduler.finish();
+        return reader.getCount() - first;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java StreamingRunner file.json [SJF|RR|PRIORITY|AG]");
+            return;
+        }
+        String type = args.length > 1 ? args[1].toUpperCase() : "SJF";
+
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(Path.of(args[0]))) {
+            int contextSwitch = reader.getContextSwitch();
+            int rrQuantum = reader.getRrQuantum();
+            int agingInterval = reader.getAgingInterval();
+            AbstractScheduler scheduler = createScheduler(type, contextSwitch, rrQuantum, agingInterval);
+            CountingExecutionListener counts = new CountingExecutionListener();
+            scheduler.setExecutionListener(counts);
+
+            long start = System.nanoTime();
+            long processes = stream(reader, scheduler);
+            long nanos = System.nanoTime() - start;
+
+            System.out.printf("%s: %,d processes read and scheduled in %.2f s%n", type, processes, nanos / 1e9);
+            System.out.println(counts);
+            System.out.printf("Average Waiting Time = %.2f%n", scheduler.getAverageWaitingTime());
+            System.out.printf("Average Turnaround Time = %.2f%n", scheduler.getAverageTurnaroundTime());
+            if (!reader.isArrivalOrdered()) {
+                System.out.println("Arrivals were out of order: late processes ran as if they arrived at the last watermark");
+            }
+            if (reader.getContextSwitch() != contextSwitch || reader.getRrQuantum() != rrQuantum
+                    || reader.getAgingInterval() != agingInterval) {
+                System.out.println("Parameters after \"processes\" were not used: the engine was already running");
+            }
+        }
+    }
+
+    // Same constructors as Main2
+    private static AbstractScheduler createScheduler(String type, int contextSwitch, int rrQuantum, int agingInterval) {
+        switch (type) {
+            case "SJF":
+                return new SJFScheduler(contextSwitch);
+            case "RR":
+                return new RRScheduler(contextSwitch, rrQuantum);
+            case "PRIORITY":
+                return new PriorityScheduler(contextSwitch, agingInterval);
+            case "AG":
+                return new AGScheduler(contextSwitch);
+            default:
+                throw new IllegalArgumentException("unknown scheduler: " + type);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Forward-only cursor over recorded (processId, start, end) records, in the
+ * layout of ExecutionTrace (IDLE and REPEAT ids included).
+ */
+public interface TraceReader {
+
+    /** Moves to the next record; false once there are no more. */
+    boolean next();
+
+    int processId();
+
+    int start();
+
+    int end();
+
+    /** Process name of the current record, or "IDLE". */
+    default String label(ProcessTable table) {
+        return processId() == ExecutionTrace.IDLE ? "IDLE" : table.getName(processId());
+    }
+
+    /**
+     * Writes the records as one line without a line break: process names separated
+     * by the delimiter, repeated rounds as "(P1 -> P2) x m", idle gaps as
+     * "IDLE (start-end)" or left out. Returns how many items were written.
+     */
+    default int render(ProcessTable table, String delimiter, boolean showIdle, Appendable out) {
+        int items = 0;
+        try {
+            while (next()) {
+                int id = processId();
+                if (id == ExecutionTrace.IDLE && !showIdle) continue;
+                if (items++ > 0) out.append(delimiter);
+                if (id == ExecutionTrace.REPEAT) {
+                    int k = start();
+                    int m = end();
+                    out.append('(');
+                    for (int i = 0; i < k && next(); i++) {
+                        if (i > 0) out.append(" -> ");
+                        out.append(label(table));
+                    }
+                    out.append(") x ").append(String.valueOf(m));
+                } else if (id == ExecutionTrace.IDLE) {
+                    out.append("IDLE (").append(String.valueOf(start())).append('-')
+                            .append(String.valueOf(end())).append(')');
+                } else {
+                    out.append(table.getName(id));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return items;
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.*;
+
+/**
+ * The fixed part of a workload: what every process looks like before any
+ * engine has run (name, arrival, burst, initial priority and quantum).
+ * Nothing in here changes once built, so any number of runs - also on
+ * different threads - can share one Workload, each with its own ProcessTable
+ * holding only the per-run state.
+ */
+public class Workload {
+
+    private final int size;
+    private final int[] nameId;
+    private final int[] arrivalTime;
+    private final int[] burstTime;
+    private final int[] priority;
+    private final int[] quantum;
+    private final List<String> names;
+    private volatile int[] arrivalOrder; // computed on first use
+
+    /**
+     * Takes over the given columns without copying; the caller must not change
+     * them afterwards. Name ids index into names.
+     */
+    public Workload(int size, int[] nameId, int[] arrivalTime, int[] burstTime,
+                    int[] priority, int[] quantum, List<String> names) {
+        this.size = size;
+        this.nameId = nameId;
+        this.arrivalTime = arrivalTime;
+        this.burstTime = burstTime;
+        this.priority = priority;
+        this.quantum = quantum;
+        this.names = names;
+    }
+
+    /** Takes the definition (not the run state) of the given processes, in list order. */
+    public static Workload of(List<Process> processes) {
+        ProcessTable table = new ProcessTable(processes.size());
+        for (Process p : processes) {
+            table.add(p.getName(), p.getArrivalTime(), p.getBurstTime(), p.getPriority(), p.getQuantum());
+        }
+        return table.getWorkload();
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public String getName(int id) {
+        return names.get(nameId[id]);
+    }
+
+    public int getNameId(int id) {
+        return nameId[id];
+    }
+
+    public int getArrivalTime(int id) {
+        return arrivalTime[id];
+    }
+
+    public int getBurstTime(int id) {
+        return burstTime[id];
+    }
+
+    public int getPriority(int id) {
+        return priority[id];
+    }
+
+    public int getQuantum(int id) {
+        return quantum[id];
+    }
+
+    /** Process ids sorted by arrival time; equal arrivals keep id order. Shared: do not modify. */
+    public int[] arrivalOrder() {
+        int[] order = arrivalOrder;
+        if (order == null) {
+            order = ProcessTable.sortByArrival(arrivalTime, size);
+            arrivalOrder = order;
+        }
+        return order;
+    }
+
+    // Columns handed to the tables that run on this workload (read-only there)
+
+    int[] nameIds() {
+        return nameId;
+    }
+
+    int[] arrivalTimes() {
+        return arrivalTime;
+    }
+
+    int[] burstTimes() {
+        return burstTime;
+    }
+
+    int[] priorities() {
+        return priority;
+    }
+
+    int[] quanta() {
+        return quantum;
+    }
+
+    List<String> names() {
+        return names;
+    }
+}
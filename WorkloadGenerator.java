@@ -0,0 +1,324 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Seeded synthetic workloads of any size, for scale testing the engines.
+ *
+ * Arrivals are POISSON (independent gaps, geometric with the given mean, the
+ * discrete form of a Poisson process) or BURSTY (the same average rate, but
+ * processes come in batches of about batchSize that arrive on the same tick).
+ * Bursts are EXPONENTIAL (geometric, at least 1) or PARETO with the given tail
+ * index, capped at maxBurst. Priorities and quanta are uniform in [lo, hi].
+ *
+ * The processes are cut into fixed-size chunks, each with its own random
+ * stream split off the seed in chunk order, and the chunks are filled on a
+ * fork-join pool. The result depends only on the settings and the seed, not on
+ * the number of threads. Arrival times come out sorted; processes are named
+ * P1..Pn.
+ *
+ * Usage: java WorkloadGenerator out.json|out.bin n=1000000 [seed=42]
+ *        [arrivals=POISSON|BURSTY] [gap=2] [batch=16] [bursts=EXPONENTIAL|PARETO] [burst=10]
+ *        [alpha=1.5] [maxBurst=10000] [priority=1:10] [quantum=2:8] [cs=1] [q=2] [aging=5]
+ */
+public class WorkloadGenerator {
+
+    public enum Arrivals { POISSON, BURSTY }
+
+    public enum Bursts { EXPONENTIAL, PARETO }
+
+    // Fixed so that the same seed gives the same workload whatever the pool size
+    private static final int CHUNK = 1 << 16;
+    // Chunks formatted ahead of the writer when writing JSON
+    private static final int JSON_WINDOW = 64;
+
+    private final int size;
+    private final long seed;
+
+    private Arrivals arrivals = Arrivals.POISSON;
+    private double meanGap = 2;
+    private int batchSize = 16;
+    private Bursts bursts = Bursts.EXPONENTIAL;
+    private double meanBurst = 10;
+    private double alpha = 1.5;
+    private int maxBurst = 10_000;
+    private int minPriority = 1;
+    private int maxPriority = 10;
+    private int minQuantum = 2;
+    private int maxQuantum = 8;
+
+    private int contextSwitch = 1;
+    private int rrQuantum = 2;
+    private int agingInterval = 5;
+
+    public WorkloadGenerator(int size, long seed) {
+        if (size < 0) throw new IllegalArgumentException("size must not be negative: " + size);
+        this.size = size;
+        this.seed = seed;
+    }
+
+    /** POISSON: meanGap ticks between arrivals on average. BURSTY also uses batchSize. */
+    public WorkloadGenerator arrivals(Arrivals arrivals, double meanGap, int batchSize) {
+        if (meanGap < 0 || batchSize < 1) throw new IllegalArgumentException("bad arrivals: gap=" + meanGap + " batch=" + batchSize);
+        this.arrivals = arrivals;
+        this.meanGap = meanGap;
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /** alpha is only used by PARETO and must be above 1 there (otherwise the mean is infinite). */
+    public WorkloadGenerator bursts(Bursts bursts, double meanBurst, double alpha, int maxBurst) {
+        if (meanBurst < 1 || maxBurst < 1) throw new IllegalArgumentException("bad bursts: mean=" + meanBurst + " max=" + maxBurst);
+        if (bursts == Bursts.PARETO && alpha <= 1) throw new IllegalArgumentException("Pareto alpha must be > 1: " + alpha);
+        this.bursts = bursts;
+        this.meanBurst = meanBurst;
+        this.alpha = alpha;
+        this.maxBurst = maxBurst;
+        return this;
+    }
+
+    public WorkloadGenerator priorities(int lo, int hi) {
+        if (hi < lo) throw new IllegalArgumentException("bad priority range: " + lo + ":" + hi);
+        minPriority = lo;
+        maxPriority = hi;
+        return this;
+    }
+
+    public WorkloadGenerator quanta(int lo, int hi) {
+        if (hi < lo) throw new IllegalArgumentException("bad quantum range: " + lo + ":" + hi);
+        minQuantum = lo;
+        maxQuantum = hi;
+        return this;
+    }
+
+    /** The scheduler parameters written with the JSON or binary file. */
+    public WorkloadGenerator parameters(int contextSwitch, int rrQuantum, int agingInterval) {
+        this.contextSwitch = contextSwitch;
+        this.rrQuantum = rrQuantum;
+        this.agingInterval = agingInterval;
+        return this;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public Workload generate() {
+        return generate(ForkJoinPool.commonPool());
+    }
+
+    /** Builds the columns in place; the Workload can go straight into new ProcessTable(workload). */
+    public Workload generate(ForkJoinPool pool) {
+        int chunks = (size + CHUNK - 1) / CHUNK;
+        SplittableRandom root = new SplittableRandom(seed);
+        SplittableRandom[] streams = new SplittableRandom[chunks];
+        for (int c = 0; c < chunks; c++) streams[c] = root.split();
+
+        int[] nameId = new int[size];
+        int[] arrival = new int[size];
+        int[] burst = new int[size];
+        int[] priority = new int[size];
+        int[] quantum = new int[size];
+        long[] span = new long[chunks];
+
+        // pass 1: everything, with arrivals relative to the start of the chunk
+        pool.invoke(new Chunks(0, chunks, c -> {
+            SplittableRandom random = streams[c];
+            int from = c * CHUNK;
+            int to = Math.min(size, from + CHUNK);
+            long t = 0;
+            for (int i = from; i < to; i++) {
+                t += nextGap(random);
+                if (t > Integer.MAX_VALUE) throw new IllegalArgumentException("arrival times overflow int; lower the mean gap");
+                nameId[i] = i;
+                arrival[i] = (int) t;
+                burst[i] = nextBurst(random);
+                priority[i] = minPriority + random.nextInt(maxPriority - minPriority + 1);
+                quantum[i] = minQuantum + random.nextInt(maxQuantum - minQuantum + 1);
+            }
+            span[c] = t;
+        }));
+
+        // pass 2: shift each chunk by the total span of the ones before it
+        long[] offset = new long[chunks];
+        for (int c = 1; c < chunks; c++) {
+            offset[c] = offset[c - 1] + span[c - 1];
+            if (offset[c] + span[c] > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("arrival times overflow int; lower the size or the mean gap");
+            }
+        }
+        pool.invoke(new Chunks(1, chunks, c -> {
+            int shift = (int) offset[c];
+            for (int i = c * CHUNK, to = Math.min(size, i + CHUNK); i < to; i++) arrival[i] += shift;
+        }));
+
+        return new Workload(size, nameId, arrival, burst, priority, quantum, names(size));
+    }
+
+    /** Writes the layout Main2 and JsonWorkloadReader read, formatting chunks in parallel. */
+    public void writeJson(Path file) throws IOException {
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file), StandardCharsets.UTF_8), 1 << 16)) {
+            writeJson(generate(), out, ForkJoinPool.commonPool());
+        }
+    }
+
+    public void writeJson(Workload workload, Writer out, ForkJoinPool pool) throws IOException {
+        int n = workload.size();
+        out.write("{\"input\": {\"contextSwitch\": " + contextSwitch + ", \"rrQuantum\": " + rrQuantum
+                + ", \"agingInterval\": " + agingInterval + ",\n  \"processes\": [");
+        int chunks = (n + CHUNK - 1) / CHUNK;
+        String[] text = new String[JSON_WINDOW];
+        for (int first = 0; first < chunks; first += JSON_WINDOW) {
+            int start = first;
+            int last = Math.min(chunks, first + JSON_WINDOW);
+            pool.invoke(new Chunks(start, last, c -> {
+                StringBuilder sb = new StringBuilder(CHUNK * 72);
+                for (int i = c * CHUNK, to = Math.min(n, i + CHUNK); i < to; i++) {
+                    if (i > 0) sb.append(",\n    ");
+                    sb.append("{\"name\":\"").append(workload.getName(i))
+                            .append("\",\"arrival\":").append(workload.getArrivalTime(i))
+                            .append(",\"burst\":").append(workload.getBurstTime(i))
+                            .append(",\"priority\":").append(workload.getPriority(i))
+                            .append(",\"quantum\":").append(workload.getQuantum(i)).append('}');
+                }
+                text[c - start] = sb.toString();
+            }));
+            for (int c = start; c < last; c++) out.write(text[c - start]);
+        }
+        out.write("]}}\n");
+    }
+
+    /** Writes the BinaryWorkload format (names are stored, so this is the slower of the two). */
+    public void writeBinary(Path file) throws IOException {
+        Workload workload = generate();
+        try (BinaryWorkloadWriter writer = new BinaryWorkloadWriter(file)) {
+            writer.setParameters(contextSwitch, rrQuantum, agingInterval);
+            for (int i = 0; i < workload.size(); i++) {
+                writer.add(workload.getName(i), workload.getArrivalTime(i), workload.getBurstTime(i),
+                        workload.getPriority(i), workload.getQuantum(i));
+            }
+            writer.finish();
+        }
+    }
+
+    private int nextGap(SplittableRandom random) {
+        if (arrivals == Arrivals.BURSTY) {
+            // a new batch with probability 1/batchSize, the rest land on the same tick
+            if (batchSize > 1 && random.nextInt(batchSize) != 0) return 0;
+            return geometric(random, meanGap * batchSize);
+        }
+        return geometric(random, meanGap);
+    }
+
+    private int nextBurst(SplittableRandom random) {
+        if (bursts == Bursts.PARETO) {
+            // scale chosen so the uncapped mean is meanBurst
+            double scale = meanBurst * (alpha - 1) / alpha;
+            double x = scale * Math.pow(1 - random.nextDouble(), -1 / alpha);
+            return (int) Math.max(1, Math.min(maxBurst, Math.round(x)));
+        }
+        return Math.min(maxBurst, 1 + geometric(random, meanBurst - 1));
+    }
+
+    // Failures before the first success, with the given mean (0 when mean is 0)
+    private static int geometric(SplittableRandom random, double mean) {
+        if (mean <= 0) return 0;
+        double p = 1 / (mean + 1);
+        double k = Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        return (int) Math.min(Integer.MAX_VALUE, k);
+    }
+
+    // P1..Pn without keeping n strings alive
+    private static List<String> names(int size) {
+        return new AbstractList<>() {
+            @Override
+            public String get(int nameId) {
+                return "P" + (nameId + 1);
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    @SuppressWarnings("serial")
+    private static class Chunks extends RecursiveAction {
+        private final int from;
+        private final int to;
+        private final IntConsumer body;
+
+        Chunks(int from, int to, IntConsumer body) {
+            this.from = from;
+            this.to = to;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > 1) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new Chunks(from, mid, body), new Chunks(mid, to, body));
+            } else if (to > from) {
+                body.accept(from);
+            }
+        }
+    }
+
+    static int[] range(String spec) {
+        String[] parts = spec.split(":");
+        int lo = Integer.parseInt(parts[0]);
+        return new int[]{lo, parts.length > 1 ? Integer.parseInt(parts[1]) : lo};
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            System.out.println("Usage: java WorkloadGenerator out.json|out.bin n=1000000 [seed=42] [arrivals=POISSON|BURSTY] [gap=2] [batch=16]"
+                    + " [bursts=EXPONENTIAL|PARETO] [burst=10] [alpha=1.5] [maxBurst=10000] [priority=1:10] [quantum=2:8] [cs=1] [q=2] [aging=5]");
+            return;
+        }
+
+        Map<String, String> options = new HashMap<>();
+        for (int i = 1; i < args.length; i++) {
+            String[] kv = args[i].split("=", 2);
+            if (kv.length != 2) throw new IllegalArgumentException("expected key=value: " + args[i]);
+            options.put(kv[0], kv[1]);
+        }
+        WorkloadGenerator generator = new WorkloadGenerator(
+                Integer.parseInt(options.getOrDefault("n", "1000000")),
+                Long.parseLong(options.getOrDefault("seed", "42")));
+        generator.arrivals(Arrivals.valueOf(options.getOrDefault("arrivals", "POISSON")),
+                Double.parseDouble(options.getOrDefault("gap", "2")),
+                Integer.parseInt(options.getOrDefault("batch", "16")));
+        generator.bursts(Bursts.valueOf(options.getOrDefault("bursts", "EXPONENTIAL")),
+                Double.parseDouble(options.getOrDefault("burst", "10")),
+                Double.parseDouble(options.getOrDefault("alpha", "1.5")),
+                Integer.parseInt(options.getOrDefault("maxBurst", "10000")));
+        int[] priority = range(options.getOrDefault("priority", "1:10"));
+        int[] quantum = range(options.getOrDefault("quantum", "2:8"));
+        generator.priorities(priority[0], priority[1]).quanta(quantum[0], quantum[1]);
+        generator.parameters(Integer.parseInt(options.getOrDefault("cs", "1")),
+                Integer.parseInt(options.getOrDefault("q", "2")),
+                Integer.parseInt(options.getOrDefault("aging", "5")));
+        Set<String> known = Set.of("n", "seed", "arrivals", "gap", "batch", "bursts", "burst", "alpha",
+                "maxBurst", "priority", "quantum", "cs", "q", "aging");
+        for (String key : options.keySet()) {
+            if (!known.contains(key)) throw new IllegalArgumentException("unknown parameter: " + key);
+        }
+
+        long start = System.nanoTime();
+        Path out = Path.of(args[0]);
+        if (args[0].endsWith(".bin")) generator.writeBinary(out);
+        else generator.writeJson(out);
+        System.out.printf("%,d processes -> %s in %.2f s%n", generator.size(), out, (System.nanoTime() - start) / 1e9);
+    }
+}
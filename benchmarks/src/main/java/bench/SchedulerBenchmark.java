@@ -0,0 +1,53 @@
+package bench;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.openjdk.jmh.annotations.*;
+
+/**
+ * One full scheduling run per invocation: a fresh ProcessTable on a shared,
+ * pre-generated workload, scheduled to completion with the engine's default
+ * (in-memory) execution trace.
+ *
+ * The quantum parameter only changes RR and AG; the other engines see the
+ * same workload for both values.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class SchedulerBenchmark {
+
+    @Param({"SJF", "RR", "PRIORITY", "AG", "PREEMPTIVE"})
+    public String engine;
+
+    @Param({"10", "1000", "100000", "1000000"})
+    public int processes;
+
+    @Param({"UNIFORM", "HEAVY_TAILED"})
+    public String burst;
+
+    @Param({"DENSE", "SPARSE"})
+    public String arrivals;
+
+    @Param({"2", "8"})
+    public int quantum;
+
+    private LongSupplier run;
+
+    @Setup(Level.Trial)
+    public void setUp() throws ReflectiveOperationException {
+        // The engines are in the default package, which can't be imported; look it up once here
+        run = (LongSupplier) Class.forName("BenchmarkSupport")
+                .getMethod("prepare", String.class, int.class, String.class, String.class, int.class, long.class)
+                .invoke(null, engine, processes, burst, arrivals, quantum, 42L);
+    }
+
+    @Benchmark
+    public long schedule() {
+        return run.getAsLong();
+    }
+}
@@ -0,0 +1,71 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonWorkloadReaderTest {
+
+    private static final String CASE_0 = "{\"input\": {\"contextSwitch\": 1, \"rrQuantum\": 2, \"agingInterval\": 3,"
+            + " \"processes\": [{\"name\": \"A\", \"arrival\": 0, \"burst\": 4, \"priority\": 2, \"quantum\": 3},"
+            + " {\"name\": \"B\", \"arrival\": 1, \"burst\": 2, \"priority\": 1, \"quantum\": 2}]},"
+            + " \"expectedOutput\": {\"ignored\": [1, 2]}}";
+    private static final String CASE_1 = "{\"input\": {\"processes\": [{\"name\": \"C\", \"arrival\": 5, \"burst\": 1,"
+            + " \"priority\": 1, \"quantum\": 1}], \"contextSwitch\": 4, \"rrQuantum\": 5, \"agingInterval\": 6}}";
+    private static final String CASE_2 = "{\"input\": {\"contextSwitch\": 7, \"processes\": []}}";
+
+    @Test
+    void readsTheTestCasesOfAnArrayInTurn() throws IOException {
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(new StringReader("[" + CASE_0 + ", " + CASE_1 + ", " + CASE_2 + "]"))) {
+            assertEquals(0, reader.getWorkloadIndex());
+            ProcessTable table = reader.readTable();
+            assertEquals(2, table.size());
+            assertEquals("B", table.getName(1));
+            assertEquals(1, reader.getContextSwitch());
+            assertEquals(2, reader.getRrQuantum());
+            assertEquals(3, reader.getAgingInterval());
+
+            // parameters after the processes are only known once they are read
+            assertTrue(reader.nextWorkload());
+            assertEquals(1, reader.getWorkloadIndex());
+            assertEquals(0, reader.getCount());
+            assertEquals(1, reader.readTable().size());
+            assertEquals(4, reader.getContextSwitch());
+            assertEquals(6, reader.getAgingInterval());
+
+            assertTrue(reader.nextWorkload());
+            assertEquals(2, reader.getWorkloadIndex());
+            assertEquals(0, reader.readTable().size());
+            assertEquals(7, reader.getContextSwitch());
+            assertEquals(0, reader.getRrQuantum(), "parameters start over");
+            assertFalse(reader.nextWorkload());
+        }
+    }
+
+    @Test
+    void nextWorkloadSkipsWhatIsLeftUnread() throws IOException {
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(new StringReader("[" + CASE_0 + ", " + CASE_1 + "]"))) {
+            assertTrue(reader.next());
+            assertEquals("A", reader.getName());
+            assertTrue(reader.nextWorkload());
+            assertTrue(reader.next());
+            assertEquals("C", reader.getName());
+            assertFalse(reader.next());
+            assertFalse(reader.nextWorkload());
+        }
+    }
+
+    @Test
+    void singleTestCaseHasNoIndex() throws IOException {
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(new StringReader(CASE_0))) {
+            assertEquals(-1, reader.getWorkloadIndex());
+            assertEquals(2, reader.readTable().size());
+            assertFalse(reader.nextWorkload());
+        }
+        try (JsonWorkloadReader reader = new JsonWorkloadReader(new StringReader("[]"))) {
+            assertFalse(reader.next());
+            assertFalse(reader.nextWorkload());
+        }
+    }
+}
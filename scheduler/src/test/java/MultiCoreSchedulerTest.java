@@ -0,0 +1,116 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MultiCoreSchedulerTest {
+
+    @Test
+    void oneCoreWithoutSwitchCostMatchesSingleEngines() {
+        Random random = new Random(5);
+        for (int run = 0; run < 2000; run++) {
+            int n = 1 + random.nextInt(40);
+            int quantum = 1 + random.nextInt(6);
+            int agingInterval = random.nextInt(8);
+            // dense arrivals and short bursts: many SJF ties, broken by (arrival, name) as in SJFScheduler
+            List<Process> processes = TestWorkloads.random(random, n, 3 * n, 15);
+
+            Scheduler[] single = {new SJFScheduler(0), new RRScheduler(0, quantum), new PriorityScheduler(0, agingInterval)};
+            MultiCoreScheduler.Policy[] policies = MultiCoreScheduler.Policy.values();
+            for (int p = 0; p < policies.length; p++) {
+                List<Process> expected = TestWorkloads.copy(processes);
+                List<Process> actual = TestWorkloads.copy(processes);
+                single[p].schedule(expected);
+                new MultiCoreScheduler(policies[p], 1, 0, 0, quantum, agingInterval).schedule(actual);
+                TestWorkloads.assertSameResults(expected, actual, policies[p] + ", run " + run);
+            }
+        }
+    }
+
+    @Test
+    void manyCoresKeepEveryProcessOnOneCoreAtATime() {
+        Random random = new Random(6);
+        for (int run = 0; run < 1000; run++) {
+            int n = 1 + random.nextInt(60);
+            int cores = 1 + random.nextInt(6);
+            int contextSwitch = random.nextInt(3);
+            int migrationCost = random.nextInt(5);
+            int quantum = 1 + random.nextInt(6);
+            int agingInterval = random.nextInt(8);
+            ProcessTable workload = new ProcessTable();
+            for (int i = 0; i < n; i++) {
+                int burst = random.nextInt(10) == 0 ? 0 : 1 + random.nextInt(15);
+                workload.add("P" + i, random.nextInt(3 * n), burst, 1 + random.nextInt(10), 4);
+            }
+
+            for (MultiCoreScheduler.Policy policy : MultiCoreScheduler.Policy.values()) {
+                String where = policy + " on " + cores + " cores, run " + run;
+                ProcessTable table = new ProcessTable(workload.getWorkload());
+                MultiCoreScheduler scheduler = new MultiCoreScheduler(policy, cores, contextSwitch, migrationCost,
+                        quantum, agingInterval);
+                ExecutionTrace[] traces = new ExecutionTrace[cores];
+                for (int c = 0; c < cores; c++) scheduler.setExecutionListener(c, traces[c] = new ExecutionTrace(false));
+                scheduler.schedule(table);
+                checkRun(table, scheduler, traces, where);
+            }
+        }
+    }
+
+    @Test
+    void sharedListenerHearsEveryCore() {
+        List<Process> processes = TestWorkloads.random(new Random(7), 50, 20, 10);
+        MultiCoreScheduler scheduler = new MultiCoreScheduler(MultiCoreScheduler.Policy.RR, 4, 1, 2, 3, 0);
+        CountingExecutionListener counts = new CountingExecutionListener();
+        scheduler.setExecutionListener(counts);
+        scheduler.schedule(processes);
+
+        assertEquals(50, counts.getCompletions());
+        assertEquals(counts.getDispatches(), counts.getPreemptions() + counts.getCompletions());
+    }
+
+    // No overlap on a core, no process on two cores at once, nothing before its arrival, all work done
+    private static void checkRun(ProcessTable table, MultiCoreScheduler scheduler, ExecutionTrace[] traces,
+                                 String where) {
+        int n = table.size();
+        long totalBurst = 0;
+        long busy = 0;
+        for (int id = 0; id < n; id++) totalBurst += table.getBurstTime(id);
+        for (int c = 0; c < traces.length; c++) busy += scheduler.getBusyTime(c);
+        assertEquals(totalBurst, busy, where + ": busy time");
+
+        List<int[]> runs = new ArrayList<>();
+        for (ExecutionTrace trace : traces) {
+            int lastEnd = Integer.MIN_VALUE;
+            for (int record = 0; record < trace.size(); record++) {
+                int id = trace.getProcessId(record);
+                int start = trace.getStart(record);
+                int end = trace.getEnd(record);
+                assertTrue(start >= lastEnd, where + ": overlap on a core at " + start);
+                lastEnd = end;
+                if (id < 0) continue;
+                assertTrue(start >= table.getArrivalTime(id), where + ": " + table.getName(id) + " before arrival");
+                runs.add(new int[]{id, start, end});
+            }
+        }
+
+        runs.sort(Comparator.comparingInt((int[] r) -> r[1]));
+        long[] ran = new long[n];
+        int[] until = new int[n];
+        Arrays.fill(until, Integer.MIN_VALUE);
+        for (int[] r : runs) {
+            if (r[2] > r[1]) {
+                assertTrue(r[1] >= until[r[0]], where + ": " + table.getName(r[0]) + " on two cores at " + r[1]);
+            }
+            until[r[0]] = Math.max(until[r[0]], r[2]);
+            ran[r[0]] += r[2] - r[1];
+        }
+        for (int id = 0; id < n; id++) {
+            String name = where + ": " + table.getName(id);
+            assertTrue(table.isFinished(id), name + " unfinished");
+            assertEquals(table.getBurstTime(id), ran[id], name + " ran");
+            if (table.getBurstTime(id) > 0) assertEquals(until[id], table.getCompletionTime(id), name + " completion");
+        }
+    }
+}
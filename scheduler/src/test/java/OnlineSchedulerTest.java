@@ -0,0 +1,172 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OnlineSchedulerTest {
+
+    private static final int PRODUCERS = 4;
+
+    // Every engine and mode that runs online
+    private static final String[] ENGINES = {"SJF", "RR", "RR fast-forward", "PRIORITY", "PRIORITY bucket", "AG"};
+
+    private static AbstractScheduler create(String engine, int contextSwitch, int quantum, int agingInterval) {
+        switch (engine) {
+            case "SJF":
+                return new SJFScheduler(contextSwitch);
+            case "RR":
+                return new RRScheduler(contextSwitch, quantum);
+            case "RR fast-forward":
+                return new RRScheduler(contextSwitch, quantum, true);
+            case "PRIORITY":
+                return new PriorityScheduler(contextSwitch, agingInterval);
+            case "PRIORITY bucket":
+                return new PriorityScheduler(contextSwitch, agingInterval, ReadyQueue.Type.BUCKET);
+            default:
+                return new AGScheduler(contextSwitch);
+        }
+    }
+
+    @Test
+    void matchesOfflineRun() throws InterruptedException {
+        ExecutorService producers = Executors.newFixedThreadPool(PRODUCERS);
+        try {
+            matchesOfflineRun(producers);
+        } finally {
+            producers.shutdown();
+        }
+    }
+
+    private void matchesOfflineRun(ExecutorService producers) throws InterruptedException {
+        Random random = new Random(4);
+        for (int run = 0; run < 600; run++) {
+            int n = 1 + random.nextInt(30);
+            int contextSwitch = random.nextInt(3);
+            int quantum = 1 + random.nextInt(5);
+            int agingInterval = random.nextInt(5);
+            int span = random.nextBoolean() ? 2 * n + 5 : 15 * n + 5;
+            List<Process> processes = TestWorkloads.random(random, n, span, 12);
+            processes.sort(Comparator.comparingInt(Process::getArrivalTime));
+
+            for (String engine : ENGINES) {
+                String where = engine + ", run " + run;
+                AbstractScheduler online = create(engine, contextSwitch, quantum, agingInterval);
+                Events onlineEvents = new Events(online::getTable);
+                online.setExecutionListener(onlineEvents);
+                feed(online, processes, random, producers);
+
+                // offline on the same definitions, in the order online took them in
+                ProcessTable table = new ProcessTable(online.getTable().getWorkload());
+                AbstractScheduler offline = create(engine, contextSwitch, quantum, agingInterval);
+                Events offlineEvents = new Events(() -> table);
+                offline.setExecutionListener(offlineEvents);
+                offline.schedule(table);
+
+                assertEquals(offlineEvents.toString(), onlineEvents.toString(), where);
+                assertEquals(results(table), results(online.getTable()), where);
+            }
+        }
+    }
+
+    @Test
+    void lateSubmissionArrivesAtTheWatermark() {
+        for (String engine : ENGINES) {
+            AbstractScheduler scheduler = create(engine, 0, 5, 0);
+            scheduler.advanceTo(10);
+            scheduler.submit(new Process("late", 2, 3, 1, 1));
+            scheduler.finish();
+            assertEquals(13, scheduler.getTable().getCompletionTime(0), engine);
+        }
+    }
+
+    // Submits from up to PRODUCERS threads at once, advancing the watermark in random steps
+    private static void feed(OnlineScheduler scheduler, List<Process> byArrival, Random random,
+                             ExecutorService producers) throws InterruptedException {
+        int threads = 1 + random.nextInt(PRODUCERS);
+        int maxStep = random.nextBoolean() ? 2 : 40;
+        int next = 0;
+        for (int watermark = 0; next < byArrival.size(); ) {
+            watermark += 1 + random.nextInt(maxStep);
+            List<List<Process>> batches = new ArrayList<>();
+            for (int p = 0; p < threads; p++) batches.add(new ArrayList<>());
+            while (next < byArrival.size() && byArrival.get(next).getArrivalTime() < watermark) {
+                Process process = byArrival.get(next++);
+                batches.get(process.getArrivalTime() % threads).add(process);
+            }
+            List<Callable<Void>> submits = new ArrayList<>();
+            for (List<Process> batch : batches) {
+                submits.add(() -> {
+                    batch.forEach(scheduler::submit);
+                    return null;
+                });
+            }
+            producers.invokeAll(submits);
+            scheduler.advanceTo(watermark);
+            if (random.nextInt(4) == 0) scheduler.advanceTo(watermark); // same watermark again
+        }
+        scheduler.finish();
+    }
+
+    // Completion time and quantum history by name
+    private static Map<String, String> results(ProcessTable table) {
+        Map<String, String> results = new TreeMap<>();
+        for (int id = 0; id < table.size(); id++) {
+            results.put(table.getName(id), table.getCompletionTime(id) + " " + table.getQuantumHistory(id));
+        }
+        return results;
+    }
+
+    // Every event with process names, since ids follow the order submissions were taken in
+    private static class Events implements ExecutionListener {
+        private final StringBuilder events = new StringBuilder();
+        private final Supplier<ProcessTable> table;
+
+        Events(Supplier<ProcessTable> table) {
+            this.table = table;
+        }
+
+        private String name(int id) {
+            return table.get().getName(id);
+        }
+
+        @Override
+        public void onDispatch(int processId, int time) {
+            events.append("dispatch ").append(name(processId)).append(" @").append(time).append('\n');
+        }
+
+        @Override
+        public void onPreempt(int processId, int time) {
+            events.append("preempt ").append(name(processId)).append(" @").append(time).append('\n');
+        }
+
+        @Override
+        public void onComplete(int processId, int time) {
+            events.append("complete ").append(name(processId)).append(" @").append(time).append('\n');
+        }
+
+        @Override
+        public void onIdle(int start, int end) {
+            events.append("idle ").append(start).append('-').append(end).append('\n');
+        }
+
+        @Override
+        public void onRepeat(int k, int m) {
+            events.append("repeat ").append(k).append(" x").append(m).append('\n');
+        }
+
+        @Override
+        public void onFinish() {
+            events.append("finish\n");
+        }
+
+        @Override
+        public String toString() {
+            return events.toString();
+        }
+    }
+}
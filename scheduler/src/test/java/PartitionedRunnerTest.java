@@ -0,0 +1,145 @@
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PartitionedRunnerTest {
+
+    // A test case: one tenant's parameters and processes
+    private static final class Case {
+        final String name;
+        final int contextSwitch;
+        final int rrQuantum;
+        final int agingInterval;
+        final List<Process> processes;
+
+        Case(String name, Random random, int n) {
+            this.name = name;
+            this.contextSwitch = random.nextInt(3);
+            this.rrQuantum = 1 + random.nextInt(5);
+            this.agingInterval = random.nextInt(6);
+            this.processes = TestWorkloads.random(random, n, 4 * n, 12);
+        }
+    }
+
+    @Test
+    void tenantTotalsMatchSingleRuns(@TempDir Path dir) throws Exception {
+        List<Case> cases = writeTenants(dir, new Random(9));
+        PartitionedRunner runner = new PartitionedRunner(PartitionedRunner.partitionFiles(new String[]{dir.toString()}));
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            runner.run(pool);
+        } finally {
+            pool.shutdown();
+        }
+
+        List<PartitionedRunner.Tenant> tenants = runner.getTenants();
+        assertEquals(cases.size(), tenants.size());
+        for (int t = 0; t < cases.size(); t++) {
+            Case expected = cases.get(t);
+            PartitionedRunner.Totals totals = tenants.get(t).getTotals();
+            assertEquals(expected.name, tenants.get(t).getName());
+            assertEquals(expected.processes.size(), totals.getProcesses(), expected.name);
+
+            List<SchedulerComparison.Result> single = runSingle(expected);
+            for (int s = 0; s < PartitionedRunner.SCHEDULERS.length; s++) {
+                String where = expected.name + ", " + PartitionedRunner.SCHEDULERS[s];
+                assertEquals(single.get(s).getAverageWaitingTime(), totals.getAverageWaitingTime(s), 1e-9, where);
+                assertEquals(single.get(s).getAverageTurnaroundTime(), totals.getAverageTurnaroundTime(s), 1e-9, where);
+            }
+        }
+    }
+
+    @Test
+    void globalAveragesWeighEveryProcessTheSame(@TempDir Path dir) throws Exception {
+        writeTenants(dir, new Random(10));
+        PartitionedRunner runner = new PartitionedRunner(PartitionedRunner.partitionFiles(new String[]{dir.toString()}));
+        PartitionedRunner.Totals global = runner.run(ForkJoinPool.commonPool());
+
+        long processes = 0;
+        for (PartitionedRunner.Tenant tenant : runner.getTenants()) processes += tenant.getTotals().getProcesses();
+        assertEquals(processes, global.getProcesses());
+        for (int s = 0; s < PartitionedRunner.SCHEDULERS.length; s++) {
+            double waiting = 0;
+            double turnaround = 0;
+            double unweighted = 0;
+            for (PartitionedRunner.Tenant tenant : runner.getTenants()) {
+                PartitionedRunner.Totals totals = tenant.getTotals();
+                waiting += totals.getAverageWaitingTime(s) * totals.getProcesses();
+                turnaround += totals.getAverageTurnaroundTime(s) * totals.getProcesses();
+                unweighted += totals.getAverageWaitingTime(s) / runner.getTenants().size();
+            }
+            String where = PartitionedRunner.SCHEDULERS[s];
+            assertEquals(waiting / processes, global.getAverageWaitingTime(s), 1e-6, where);
+            assertEquals(turnaround / processes, global.getAverageTurnaroundTime(s), 1e-6, where);
+            assertNotEquals(unweighted, global.getAverageWaitingTime(s), 1e-6, where + ": tenants weighed the same");
+        }
+    }
+
+    @Test
+    void rejectsTwoFilesWithTheSameName(@TempDir Path dir) throws IOException {
+        Path a = Files.createDirectory(dir.resolve("a"));
+        Path b = Files.createDirectory(dir.resolve("b"));
+        Case tenant = new Case("x.json", new Random(11), 3);
+        Files.writeString(a.resolve("x.json"), testCase(tenant));
+        Files.writeString(b.resolve("x.json"), testCase(tenant));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> new PartitionedRunner(List.of(a.resolve("x.json"), b.resolve("x.json"))));
+        assertTrue(e.getMessage().contains("x.json"), e.getMessage());
+    }
+
+    // Two single-case files and one array file, with tenants of very different sizes
+    private static List<Case> writeTenants(Path dir, Random random) throws IOException {
+        List<Case> cases = new ArrayList<>();
+        cases.add(new Case("a.json", random, 1));
+        cases.add(new Case("b.json", random, 200));
+        Files.writeString(dir.resolve("a.json"), testCase(cases.get(0)));
+        Files.writeString(dir.resolve("b.json"), testCase(cases.get(1)));
+
+        StringBuilder array = new StringBuilder("[");
+        int[] sizes = {40, 3, 90};
+        for (int i = 0; i < sizes.length; i++) {
+            Case tenant = new Case("multi.json[" + i + "]", random, sizes[i]);
+            cases.add(tenant);
+            array.append(i == 0 ? "" : ",\n").append(testCase(tenant));
+        }
+        Files.writeString(dir.resolve("multi.json"), array.append("]").toString());
+        return cases;
+    }
+
+    private static String testCase(Case tenant) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"input\": {\"contextSwitch\": ").append(tenant.contextSwitch)
+                .append(", \"rrQuantum\": ").append(tenant.rrQuantum)
+                .append(", \"agingInterval\": ").append(tenant.agingInterval)
+                .append(", \"processes\": [");
+        for (int i = 0; i < tenant.processes.size(); i++) {
+            Process p = tenant.processes.get(i);
+            json.append(i == 0 ? "\n" : ",\n")
+                    .append("{\"name\": \"").append(p.getName())
+                    .append("\", \"arrival\": ").append(p.getArrivalTime())
+                    .append(", \"burst\": ").append(p.getBurstTime())
+                    .append(", \"priority\": ").append(p.getPriority())
+                    .append(", \"quantum\": ").append(p.getQuantum()).append('}');
+        }
+        return json.append("]}}").toString();
+    }
+
+    // What Main2 does for one test case, plus PriorityPreemptive
+    private static List<SchedulerComparison.Result> runSingle(Case tenant) throws InterruptedException {
+        SchedulerComparison comparison = new SchedulerComparison(ProcessTable.of(tenant.processes).getWorkload(), 1);
+        comparison.add("SJF", new SJFScheduler(tenant.contextSwitch));
+        comparison.add("RR", new RRScheduler(tenant.contextSwitch, tenant.rrQuantum));
+        comparison.add("PRIORITY", new PriorityScheduler(tenant.contextSwitch, tenant.agingInterval));
+        comparison.add("AG", new AGScheduler(tenant.contextSwitch));
+        comparison.add("PREEMPTIVE", new PriorityPreemptive(tenant.agingInterval));
+        return comparison.run();
+    }
+}
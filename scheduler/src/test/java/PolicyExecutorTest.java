@@ -0,0 +1,172 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolicyExecutorTest {
+
+    private static final long MS = 1_000_000;
+    private static final long LONG_QUANTUM = 60_000 * MS;
+
+    @Test
+    void strayInterruptsDoNotStopWorkers() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.RR, 1, MS, 0);
+        CountDownLatch started = new CountDownLatch(1);
+        Future<?> busy = executor.submit(() -> {
+            started.countDown();
+            while (true) Thread.sleep(10);
+        });
+        started.await();
+        busy.cancel(true);
+        assertEquals("ran", executor.submit(() -> "ran").get(5, TimeUnit.SECONDS), "after cancel(true)");
+
+        executor.execute(() -> Thread.currentThread().interrupt());
+        assertEquals("ran", executor.submit(() -> "ran").get(5, TimeUnit.SECONDS), "after a task left its interrupt");
+
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void srtfRunsShortestHintFirst() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.SRTF, 1, LONG_QUANTUM, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = block(executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(executor.submitSliced(record(order, "C", 1), PolicyExecutor.DEFAULT_PRIORITY, 300 * MS));
+        futures.add(executor.submitSliced(record(order, "A", 1), PolicyExecutor.DEFAULT_PRIORITY, 100 * MS));
+        futures.add(executor.submitSliced(record(order, "B", 1), PolicyExecutor.DEFAULT_PRIORITY, 200 * MS));
+        futures.add(executor.submitSliced(record(order, "A2", 1), PolicyExecutor.DEFAULT_PRIORITY, 100 * MS));
+        gate.countDown();
+        awaitAll(futures);
+
+        assertEquals("A, A2, B, C", String.join(", ", order));
+        executor.shutdown();
+    }
+
+    @Test
+    void priorityRunsLowestNumberFirst() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.PRIORITY, 1, LONG_QUANTUM, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = block(executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        futures.add(executor.submitSliced(record(order, "3", 1), 3, 0));
+        futures.add(executor.submitSliced(record(order, "1", 1), 1, 0));
+        futures.add(executor.submitSliced(record(order, "2", 1), 2, 0));
+        futures.add(executor.submitSliced(record(order, "1 again", 1), 1, 0));
+        gate.countDown();
+        awaitAll(futures);
+
+        assertEquals("1, 1 again, 2, 3", String.join(", ", order));
+        executor.shutdown();
+    }
+
+    @Test
+    void roundRobinRotatesAtQuantumBoundaries() throws Exception {
+        // 30 ms slices against a 50 ms quantum: the policy is asked after every second slice
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.RR, 1, 50 * MS, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = block(executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (String name : new String[]{"A", "B", "C"}) {
+            futures.add(executor.submitSliced(sleep(order, name, 4, 30)));
+        }
+        gate.countDown();
+        awaitAll(futures);
+
+        assertEquals("A, A, B, B, C, C, A, A, B, B, C, C", String.join(", ", order));
+        executor.shutdown();
+    }
+
+    @Test
+    void shutdownRunsWhatIsQueued() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.RR, 1, MS, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch gate = block(executor);
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 5; i++) futures.add(executor.submitSliced(record(order, "P" + i, 2)));
+        executor.shutdown();
+        assertThrows(RejectedExecutionException.class, () -> executor.execute(() -> { }));
+        assertFalse(executor.isTerminated());
+
+        gate.countDown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        for (CompletableFuture<Void> future : futures) assertTrue(future.isDone() && !future.isCompletedExceptionally());
+        assertEquals(10, order.size());
+        assertEquals(6, executor.getCompletedTaskCount());
+    }
+
+    @Test
+    void shutdownNowReturnsWhatHasNotStarted() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.PRIORITY, 1, MS, 0);
+        List<String> order = Collections.synchronizedList(new ArrayList<>());
+        block(executor); // interrupted by shutdownNow
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 3; i++) futures.add(executor.submitSliced(record(order, "P" + i, 2)));
+
+        List<Runnable> left = executor.shutdownNow();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertEquals(3, left.size());
+        assertTrue(order.isEmpty(), "ran before shutdownNow returned them: " + order);
+        for (CompletableFuture<Void> future : futures) assertFalse(future.isDone());
+
+        left.forEach(Runnable::run);
+        assertEquals("P0, P0, P1, P1, P2, P2", String.join(", ", order));
+        for (CompletableFuture<Void> future : futures) assertTrue(future.isDone() && !future.isCompletedExceptionally());
+    }
+
+    @Test
+    void throwingTaskCompletesItsFutureExceptionally() throws Exception {
+        PolicyExecutor executor = new PolicyExecutor(PolicyExecutor.Policy.SRTF, 1, MS, 0);
+        CompletableFuture<Void> sliced = executor.submitSliced(() -> {
+            throw new IllegalStateException("sliced");
+        });
+        Future<String> callable = executor.submit(() -> {
+            throw new IllegalArgumentException("callable");
+        });
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> sliced.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, e.getCause());
+        e = assertThrows(ExecutionException.class, () -> callable.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, e.getCause());
+        assertEquals("ran", executor.submit(() -> "ran").get(5, TimeUnit.SECONDS), "worker after the errors");
+        executor.shutdown();
+    }
+
+    // Occupies the single worker until the returned gate opens, so what is submitted meanwhile queues
+    private static CountDownLatch block(PolicyExecutor executor) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch gate = new CountDownLatch(1);
+        executor.submitSliced(() -> {
+            started.countDown();
+            gate.await();
+            return true;
+        });
+        started.await();
+        return gate;
+    }
+
+    // Records its name once per slice
+    private static PolicyExecutor.SlicedTask record(List<String> order, String name, int slices) {
+        int[] left = {slices};
+        return () -> {
+            order.add(name);
+            return --left[0] == 0;
+        };
+    }
+
+    private static PolicyExecutor.SlicedTask sleep(List<String> order, String name, int slices, long millis) {
+        int[] left = {slices};
+        return () -> {
+            order.add(name);
+            Thread.sleep(millis);
+            return --left[0] == 0;
+        };
+    }
+
+    private static void awaitAll(List<CompletableFuture<Void>> futures) throws Exception {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).get(10, TimeUnit.SECONDS);
+    }
+}
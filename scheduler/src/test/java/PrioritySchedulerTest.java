@@ -0,0 +1,48 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class PrioritySchedulerTest {
+
+    @Test
+    void matchesTickByTickEngine() {
+        Random random = new Random(1);
+        for (int run = 0; run < 3000; run++) {
+            int n = 1 + random.nextInt(12);
+            int contextSwitch = random.nextInt(3);
+            int agingInterval = random.nextInt(6);
+            // short bursts stress ties and switches, long ones the closed-form aging
+            int maxBurst = random.nextBoolean() ? 12 : 200;
+            List<Process> expected = TestWorkloads.random(random, n, 2 * n + 5, maxBurst);
+            List<Process> actual = TestWorkloads.copy(expected);
+
+            TickPriorityScheduler reference = new TickPriorityScheduler(contextSwitch, agingInterval);
+            reference.schedule(expected);
+            PriorityScheduler engine = new PriorityScheduler(contextSwitch, agingInterval);
+            ExecutionTrace trace = new ExecutionTrace();
+            engine.setExecutionListener(trace);
+            engine.schedule(actual);
+
+            String where = "run " + run + " (cs " + contextSwitch + ", aging " + agingInterval + ")";
+            assertEquals(String.join(", ", reference.getExecutionOrder()), TestWorkloads.order(trace, engine.getTable()), where);
+            TestWorkloads.assertSameResults(expected, actual, where);
+        }
+    }
+
+    @Test
+    void jumpsOverIdleGapsAndLongBursts() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process("A", 0, 5_000_000, 3, 1));
+        processes.add(new Process("B", 10_000_000, 3_000_000, 2, 1));
+        processes.add(new Process("C", 10_000_001, 1, 1, 1));
+        PriorityScheduler engine = new PriorityScheduler(1, 0);
+        engine.schedule(processes);
+
+        assertEquals(5_000_001, processes.get(0).getCompletionTime());
+        // C arrives during the switch to B and takes it over; B then needs a switch of its own
+        assertEquals(10_000_003, processes.get(2).getCompletionTime());
+        assertEquals(13_000_004, processes.get(1).getCompletionTime());
+    }
+}
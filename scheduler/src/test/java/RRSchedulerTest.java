@@ -0,0 +1,94 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RRSchedulerTest {
+
+    @Test
+    void fastForwardMatchesSliceBySlice() {
+        Random random = new Random(3);
+        for (int run = 0; run < 3000; run++) {
+            int n = 1 + random.nextInt(12);
+            int contextSwitch = random.nextInt(3);
+            int quantum = 1 + random.nextInt(5);
+            // long bursts and sparse arrivals leave whole rounds to skip
+            int span = random.nextBoolean() ? 2 * n + 5 : 40 * n;
+            List<Process> expected = TestWorkloads.random(random, n, span, random.nextBoolean() ? 12 : 300);
+            List<Process> actual = TestWorkloads.copy(expected);
+
+            RRScheduler slices = new RRScheduler(contextSwitch, quantum);
+            ExecutionTrace sliceTrace = new ExecutionTrace(false);
+            slices.setExecutionListener(sliceTrace);
+            slices.schedule(expected);
+            RRScheduler skips = new RRScheduler(contextSwitch, quantum, true);
+            ExecutionTrace skipTrace = new ExecutionTrace(false);
+            skips.setExecutionListener(skipTrace);
+            skips.schedule(actual);
+
+            String where = "run " + run + " (cs " + contextSwitch + ", q " + quantum + ")";
+            assertEquals(expand(sliceTrace, contextSwitch, quantum), expand(skipTrace, contextSwitch, quantum), where);
+            TestWorkloads.assertSameResults(expected, actual, where);
+        }
+    }
+
+    @Test
+    void retiresFinishedJobs() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process("A", 0, 2, 1, 1));
+        processes.add(new Process("B", 0, 5, 1, 1));
+        RRScheduler engine = new RRScheduler(0, 2);
+        ExecutionTrace trace = new ExecutionTrace(false);
+        engine.setExecutionListener(trace);
+        engine.schedule(processes);
+
+        assertEquals("A, B, B, B", TestWorkloads.order(trace, engine.getTable()));
+        assertEquals(2, processes.get(0).getCompletionTime());
+        assertEquals(7, processes.get(1).getCompletionTime());
+        for (Process p : processes) assertTrue(p.isFinished(), p.getName());
+    }
+
+    @Test
+    void fastForwardCompressesLongRounds() {
+        List<Process> processes = new ArrayList<>();
+        for (int i = 0; i < 3; i++) processes.add(new Process("P" + i, 0, 1_000_000, 1, 1));
+        RRScheduler engine = new RRScheduler(1, 1, true);
+        ExecutionTrace trace = new ExecutionTrace(false);
+        engine.setExecutionListener(trace);
+        engine.schedule(processes);
+
+        // 3M slices, but only the rounds around the skip are recorded one by one
+        assertTrue(trace.size() < 20, "records: " + trace.size());
+        // slice j runs from 2j to 2j + 1; the last round is slices 2999997..2999999
+        assertEquals(5_999_995, processes.get(0).getCompletionTime());
+        assertEquals(5_999_997, processes.get(1).getCompletionTime());
+        assertEquals(5_999_999, processes.get(2).getCompletionTime());
+    }
+
+    // Every slice as "id start-end"; a repeated round is written out once per time it ran
+    private static List<String> expand(ExecutionTrace trace, int contextSwitch, int quantum) {
+        List<String> slices = new ArrayList<>();
+        for (int record = 0; record < trace.size(); record++) {
+            int id = trace.getProcessId(record);
+            if (id == ExecutionTrace.IDLE) continue;
+            if (id != ExecutionTrace.REPEAT) {
+                slices.add(id + " " + trace.getStart(record) + "-" + trace.getEnd(record));
+                continue;
+            }
+            int k = trace.getStart(record);
+            int m = trace.getEnd(record);
+            int roundLength = k * (quantum + contextSwitch);
+            for (int round = 0; round < m; round++) {
+                for (int i = 1; i <= k; i++) {
+                    int shift = round * roundLength;
+                    slices.add(trace.getProcessId(record + i) + " " + (trace.getStart(record + i) + shift)
+                            + "-" + (trace.getEnd(record + i) + shift));
+                }
+            }
+            record += k;
+        }
+        return slices;
+    }
+}
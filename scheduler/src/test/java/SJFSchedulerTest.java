@@ -0,0 +1,45 @@
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SJFSchedulerTest {
+
+    @Test
+    void matchesTickByTickEngine() {
+        Random random = new Random(2);
+        for (int run = 0; run < 3000; run++) {
+            int n = 1 + random.nextInt(12);
+            int contextSwitch = random.nextInt(3);
+            // dense arrivals give many ties on remaining time, sparse ones idle gaps
+            int span = random.nextBoolean() ? 2 * n + 5 : 15 * n + 5;
+            List<Process> expected = TestWorkloads.random(random, n, span, random.nextBoolean() ? 12 : 200);
+            List<Process> actual = TestWorkloads.copy(expected);
+
+            TickSJFScheduler reference = new TickSJFScheduler(contextSwitch);
+            reference.schedule(expected);
+            SJFScheduler engine = new SJFScheduler(contextSwitch);
+            ExecutionTrace trace = new ExecutionTrace();
+            engine.setExecutionListener(trace);
+            engine.schedule(actual);
+
+            String where = "run " + run + " (cs " + contextSwitch + ")";
+            assertEquals(String.join(", ", reference.getExecutionOrder()), TestWorkloads.order(trace, engine.getTable()), where);
+            TestWorkloads.assertSameResults(expected, actual, where);
+        }
+    }
+
+    @Test
+    void switchIsChargedOnlyBetweenDifferentProcesses() {
+        List<Process> processes = new ArrayList<>();
+        processes.add(new Process("A", 0, 4, 1, 1));
+        processes.add(new Process("B", 10, 2, 1, 1));
+        SJFScheduler engine = new SJFScheduler(3);
+        engine.schedule(processes);
+
+        // no switch before the first dispatch, one from A to B even across the idle gap
+        assertEquals(4, processes.get(0).getCompletionTime());
+        assertEquals(15, processes.get(1).getCompletionTime());
+    }
+}
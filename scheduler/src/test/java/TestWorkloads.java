@@ -0,0 +1,49 @@
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Random small workloads and result checks shared by the differential tests. */
+final class TestWorkloads {
+
+    private TestWorkloads() {
+    }
+
+    // n processes named P0..P(n-1) (unpadded, so name order is not id order), arriving in [0, span)
+    static List<Process> random(Random random, int n, int span, int maxBurst) {
+        List<Process> processes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            processes.add(new Process("P" + i, random.nextInt(span), 1 + random.nextInt(maxBurst),
+                    1 + random.nextInt(7), 1 + random.nextInt(8)));
+        }
+        return processes;
+    }
+
+    // Fresh processes with the same definition, for a second run
+    static List<Process> copy(List<Process> processes) {
+        List<Process> copy = new ArrayList<>(processes.size());
+        for (Process p : processes) {
+            copy.add(new Process(p.getName(), p.getArrivalTime(), p.getBurstTime(), p.getPriority(), p.getQuantum()));
+        }
+        return copy;
+    }
+
+    // The execution order as printExecutionOrder writes it, without the brackets
+    static String order(ExecutionTrace trace, ProcessTable table) {
+        StringBuilder out = new StringBuilder();
+        trace.reader().render(table, ", ", false, out);
+        return out.toString();
+    }
+
+    // Same per-process results, matched by name (engines may reorder the list)
+    static void assertSameResults(List<Process> expected, List<Process> actual, String where) {
+        Map<String, Process> byName = new HashMap<>();
+        for (Process p : actual) byName.put(p.getName(), p);
+        for (Process e : expected) {
+            Process a = byName.get(e.getName());
+            String what = where + ", " + e.getName();
+            assertEquals(e.getCompletionTime(), a.getCompletionTime(), what + " completion");
+            assertEquals(e.getWaitingTime(), a.getWaitingTime(), what + " waiting");
+            assertEquals(e.getTurnaroundTime(), a.getTurnaroundTime(), what + " turnaround");
+        }
+    }
+}
@@ -0,0 +1,111 @@
+import java.util.*;
+
+/**
+ * The unit-time SRTF SJFScheduler from before the event-driven loop, kept
+ * unchanged apart from the printing: the running process loses one unit per
+ * iteration and arrivals and preemption are re-checked every unit. It is the
+ * reference the engine's results must match.
+ */
+class TickSJFScheduler {
+
+    private List<Process> processes;
+    private final List<String> executionOrder = new ArrayList<>();
+    private final int contextSwitch;
+
+    TickSJFScheduler(int contextSwitch) {
+        this.contextSwitch = contextSwitch;
+    }
+
+    List<String> getExecutionOrder() {
+        return executionOrder;
+    }
+
+    void schedule(List<Process> processes) {
+        this.processes = processes;
+
+        // sort by arrival to ease adding arrivals
+        processes.sort(Comparator.comparingInt(Process::getArrivalTime));
+
+        PriorityQueue<Process> readyQueue = new PriorityQueue<>(
+                (a, b) -> {
+                    if (a.getRemainingTime() != b.getRemainingTime())
+                        return a.getRemainingTime() - b.getRemainingTime();
+                    if (a.getArrivalTime() != b.getArrivalTime())
+                        return a.getArrivalTime() - b.getArrivalTime();
+                    return a.getName().compareTo(b.getName());
+                }
+        );
+
+        int time = 0;
+        int completed = 0;
+        int index = 0; // index over sorted processes for arrivals
+        Process current = null;
+        Process prev = null; // previously running process (used to determine if context switch is needed)
+
+        while (completed < processes.size()) {
+
+            while (index < processes.size() && processes.get(index).getArrivalTime() <= time) {
+                readyQueue.add(processes.get(index));
+                index++;
+            }
+
+            if (current == null) {
+                if (readyQueue.isEmpty()) {
+                    // CPU idle -> jump to next arrival time (no context switch while idle)
+                    if (index < processes.size()) {
+                        time = Math.max(time, processes.get(index).getArrivalTime());
+                        continue;
+                    } else {
+                        break;
+                    }
+                } else {
+                    Process next = readyQueue.poll();
+
+                    // if switching from a previous process to this new one, add context switch
+                    if (prev != null && prev != next && contextSwitch > 0) {
+                        time += contextSwitch;
+                        // add arrivals that happened during the context switch
+                        while (index < processes.size() && processes.get(index).getArrivalTime() <= time) {
+                            readyQueue.add(processes.get(index));
+                            index++;
+                        }
+                    }
+
+                    current = next;
+
+                    // record every dispatch (not only first start)
+                    executionOrder.add(current.getName());
+                }
+            }
+
+            current.setRemainingTime(current.getRemainingTime() - 1);
+            time += 1;
+
+            while (index < processes.size() && processes.get(index).getArrivalTime() <= time) {
+                readyQueue.add(processes.get(index));
+                index++;
+            }
+
+            if (!readyQueue.isEmpty() && current.getRemainingTime() > 0
+                    && readyQueue.peek().getRemainingTime() < current.getRemainingTime()) {
+                prev = current; // mark this as previous so next selection triggers context switch
+                readyQueue.add(current);
+                current = null;
+                continue;
+            }
+
+            if (current.getRemainingTime() == 0) {
+                current.setCompletionTime(time);
+                completed++;
+                prev = current;
+                current = null;
+            }
+        }
+
+        for (Process p : processes) {
+            int turnaround = p.getCompletionTime() - p.getArrivalTime();
+            p.setTurnaroundTime(turnaround);
+            p.setWaitingTime(turnaround - p.getBurstTime());
+        }
+    }
+}
@@ -0,0 +1,91 @@
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WorkloadGeneratorTest {
+
+    // a little over three chunks, so the chunk boundaries and the second pass are exercised
+    private static final int SIZE = 200_000;
+
+    private static WorkloadGenerator[] generators() {
+        return new WorkloadGenerator[]{
+                new WorkloadGenerator(SIZE, 1),
+                new WorkloadGenerator(SIZE, 2)
+                        .arrivals(WorkloadGenerator.Arrivals.BURSTY, 3, 8)
+                        .bursts(WorkloadGenerator.Bursts.PARETO, 20, 1.2, 5000)
+                        .priorities(0, 3)
+                        .quanta(1, 1),
+        };
+    }
+
+    @Test
+    void sameWorkloadWhateverThePoolSize() throws IOException {
+        ForkJoinPool one = new ForkJoinPool(1);
+        ForkJoinPool four = new ForkJoinPool(4);
+        try {
+            for (WorkloadGenerator generator : generators()) {
+                Workload expected = generator.generate(one);
+                Workload actual = generator.generate(four);
+                assertSameWorkload(expected, actual, "pool of 4");
+
+                StringWriter expectedJson = new StringWriter();
+                StringWriter actualJson = new StringWriter();
+                generator.writeJson(expected, expectedJson, one);
+                generator.writeJson(actual, actualJson, four);
+                assertEquals(expectedJson.toString(), actualJson.toString());
+            }
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    void arrivalsComeOutSorted() {
+        for (WorkloadGenerator generator : generators()) {
+            Workload workload = generator.generate();
+            assertEquals(SIZE, workload.size());
+            for (int i = 1; i < SIZE; i++) {
+                assertTrue(workload.getArrivalTime(i - 1) <= workload.getArrivalTime(i), "arrival " + i);
+            }
+            assertEquals("P1", workload.getName(0));
+            assertEquals("P" + SIZE, workload.getName(SIZE - 1));
+        }
+    }
+
+    @Test
+    void writeJsonReadsBackThroughJsonWorkloadReader() throws IOException {
+        for (WorkloadGenerator generator : generators()) {
+            generator.parameters(3, 4, 7);
+            Workload workload = generator.generate();
+            StringWriter json = new StringWriter();
+            generator.writeJson(workload, json, ForkJoinPool.commonPool());
+
+            try (JsonWorkloadReader reader = new JsonWorkloadReader(new StringReader(json.toString()))) {
+                ProcessTable table = reader.readTable();
+                assertEquals(3, reader.getContextSwitch());
+                assertEquals(4, reader.getRrQuantum());
+                assertEquals(7, reader.getAgingInterval());
+                assertTrue(reader.isArrivalOrdered());
+                assertSameWorkload(workload, table.getWorkload(), "read back");
+            }
+        }
+    }
+
+    private static void assertSameWorkload(Workload expected, Workload actual, String where) {
+        assertEquals(expected.size(), actual.size(), where);
+        for (int i = 0; i < expected.size(); i++) {
+            String process = where + ", process " + i;
+            assertEquals(expected.getName(i), actual.getName(i), process);
+            assertEquals(expected.getArrivalTime(i), actual.getArrivalTime(i), process);
+            assertEquals(expected.getBurstTime(i), actual.getBurstTime(i), process);
+            assertEquals(expected.getPriority(i), actual.getPriority(i), process);
+            assertEquals(expected.getQuantum(i), actual.getQuantum(i), process);
+        }
+    }
+}